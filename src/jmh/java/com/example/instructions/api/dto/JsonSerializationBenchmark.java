@@ -0,0 +1,68 @@
+package com.example.instructions.api.dto;
+
+import com.example.instructions.api.article.dto.ArticleResponseDto;
+import com.example.instructions.api.mapper.ArticleMapperImpl;
+import com.example.instructions.bench.SyntheticArticles;
+import com.example.instructions.domain.Article;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Сериализация ответов статьи в JSON тем же образом, что и HTTP-конвертер приложения.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"5", "50"})
+    private int chapters;
+
+    @Param({"10"})
+    private int sectionsPerChapter;
+
+    @Param({"2000"})
+    private int markdownLength;
+
+    /** Настройки как у автоконфигурации Spring Boot: JavaTimeModule и даты строками. */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private ArticleDto articleDto;
+    private ArticleResponseDto responseDto;
+
+    @Setup
+    public void setUp() {
+        Article article = SyntheticArticles.article(chapters, sectionsPerChapter, markdownLength, 42);
+        articleDto = new ArticleMapperImpl().toPublicDto(article);
+        responseDto = SyntheticArticles.responseDto(article);
+    }
+
+    @Benchmark
+    public byte[] articleDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(articleDto);
+    }
+
+    @Benchmark
+    public byte[] articleResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseDto);
+    }
+}
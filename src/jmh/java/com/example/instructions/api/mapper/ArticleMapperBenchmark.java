@@ -0,0 +1,60 @@
+package com.example.instructions.api.mapper;
+
+import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.api.dto.ChapterDto;
+import com.example.instructions.bench.SyntheticArticles;
+import com.example.instructions.domain.Article;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Маппинг опубликованной статьи в публичный DTO на статьях разного размера:
+ * полный {@link ArticleMapper#toPublicDto} и отдельно оглавление {@link ArticleMapper#mapChapters}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleMapperBenchmark {
+
+    @Param({"5", "50"})
+    private int chapters;
+
+    @Param({"10"})
+    private int sectionsPerChapter;
+
+    @Param({"2000"})
+    private int markdownLength;
+
+    private final ArticleMapper mapper = new ArticleMapperImpl();
+
+    private Article article;
+
+    @Setup
+    public void setUp() {
+        article = SyntheticArticles.article(chapters, sectionsPerChapter, markdownLength, 42);
+    }
+
+    @Benchmark
+    public ArticleDto toPublicDto() {
+        return mapper.toPublicDto(article);
+    }
+
+    @Benchmark
+    public List<ChapterDto> mapChapters() {
+        return mapper.mapChapters(article.getChapters());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.instructions.bench;
+
+import com.example.instructions.api.article.dto.ArticleResponseDto;
+import com.example.instructions.domain.Article;
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.domain.Chapter;
+import com.example.instructions.domain.Section;
+import com.example.instructions.domain.Tag;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Генератор синтетических статей для бенчмарков: размер оглавления и объём markdown
+ * задаются параметрами, содержимое детерминировано зерном.
+ */
+public final class SyntheticArticles {
+
+    private static final String[] PARAGRAPHS = {
+            "Установите пакет и проверьте версию командой `docker --version`.\n",
+            "## Настройка\n\nОткройте файл **config.yml** и укажите адрес сервера.\n",
+            "- Создайте пользователя\n- Выдайте права\n- Перезапустите службу\n",
+            "См. [документацию](https://example.com/docs) по параметрам PostgreSQL.\n",
+            "```bash\nsudo systemctl restart nginx\n```\n"
+    };
+
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private SyntheticArticles() {
+    }
+
+    /**
+     * Строит опубликованную статью с главами, секциями и тегами.
+     *
+     * @param chapters           число глав
+     * @param sectionsPerChapter число секций в каждой главе
+     * @param markdownLength     длина markdown каждой секции в символах
+     * @param seed               зерно генератора
+     * @return статья без привязки к persistence context
+     */
+    public static Article article(int chapters, int sectionsPerChapter, int markdownLength, long seed) {
+        Random random = new Random(seed);
+        Article article = new Article();
+        article.setId(new UUID(seed, 0));
+        article.setTitle("Руководство по развёртыванию №" + seed);
+        article.setSlug("deployment-guide-" + seed);
+        article.setSummary("Пошаговая установка и настройка сервиса.");
+        article.setCoverImageUrl("/media/cover-" + seed + ".png");
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setCreatedBy("bench");
+        article.setCreatedAt(BASE_TIME);
+        article.setUpdatedAt(BASE_TIME.plusDays(seed % 365));
+
+        List<String> tagNames = List.of("docker", "linux", "postgresql", "nginx");
+        article.setTags(tagNames.toArray(String[]::new));
+        for (String name : tagNames) {
+            Tag tag = new Tag();
+            tag.setId(UUID.nameUUIDFromBytes(name.getBytes()));
+            tag.setName(name);
+            tag.setSlug(name);
+            article.getTagEntities().add(tag);
+        }
+
+        StringBuilder html = new StringBuilder();
+        // Главы и секции добавляются в порядке order_index, как их загружает @OrderBy коллекций.
+        for (int c = 0; c < chapters; c++) {
+            Chapter chapter = new Chapter();
+            chapter.setId(new UUID(random.nextLong(), random.nextLong()));
+            chapter.setTitle("Глава " + (c + 1));
+            chapter.setOrderIndex(c);
+            for (int s = 0; s < sectionsPerChapter; s++) {
+                Section section = new Section();
+                section.setId(new UUID(random.nextLong(), random.nextLong()));
+                section.setTitle("Раздел " + (c + 1) + "." + (s + 1));
+                section.setOrderIndex(s);
+                section.setMarkdown(markdown(markdownLength, random));
+                chapter.addSection(section);
+            }
+            article.addChapter(chapter);
+            html.append("<h2>").append(chapter.getTitle()).append("</h2><p>").append(PARAGRAPHS[c % PARAGRAPHS.length])
+                    .append("</p>");
+        }
+        article.setContentHtml(html.toString());
+        article.setContentJson(contentJson(chapters));
+        return article;
+    }
+
+    /**
+     * Ответ редактора для той же статьи, как его собирает {@code ArticleEditorService}.
+     *
+     * @param article синтетическая статья
+     * @return DTO ответа
+     */
+    public static ArticleResponseDto responseDto(Article article) {
+        ArticleResponseDto dto = new ArticleResponseDto();
+        dto.setId(article.getId());
+        dto.setTitle(article.getTitle());
+        dto.setSlug(article.getSlug());
+        dto.setSummary(article.getSummary());
+        dto.setCoverImageUrl(article.getCoverImageUrl());
+        dto.setTags(Arrays.asList(article.getTags()));
+        dto.setContentHtml(article.getContentHtml());
+        dto.setContentJson(article.getContentJson());
+        dto.setStatus(article.getStatus());
+        dto.setCreatedAt(article.getCreatedAt());
+        dto.setUpdatedAt(article.getUpdatedAt());
+        return dto;
+    }
+
+    /**
+     * Markdown заданной длины из типовых абзацев.
+     *
+     * @param length длина в символах
+     * @param random источник случайности
+     * @return текст markdown
+     */
+    public static String markdown(int length, Random random) {
+        StringBuilder text = new StringBuilder(length + 128);
+        while (text.length() < length) {
+            text.append(PARAGRAPHS[random.nextInt(PARAGRAPHS.length)]).append('\n');
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    private static ObjectNode contentJson(int chapters) {
+        JsonNodeFactory factory = JsonNodeFactory.instance;
+        ObjectNode doc = factory.objectNode().put("type", "doc");
+        ArrayNode content = doc.putArray("content");
+        for (int c = 0; c < chapters; c++) {
+            content.addObject().put("type", "heading")
+                    .<ObjectNode>set("attrs", factory.objectNode().put("level", 2))
+                    .putArray("content").addObject().put("type", "text").put("text", "Глава " + (c + 1));
+            content.addObject().put("type", "paragraph")
+                    .putArray("content").addObject().put("type", "text").put("text", PARAGRAPHS[c % PARAGRAPHS.length]);
+        }
+        return doc;
+    }
+}
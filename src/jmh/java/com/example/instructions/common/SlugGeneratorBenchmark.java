@@ -0,0 +1,44 @@
+package com.example.instructions.common;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение генерации слага: прежняя HashMap/regex-реализация ({@link LegacySlugGenerator},
+ * лежит в тестовых исходниках) против табличного однопроходного {@link SlugGenerator}.
+ * Аллокации видны с профилировщиком {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlugGeneratorBenchmark {
+
+    @Param({
+            "Установка Docker Compose на Ubuntu 22.04",
+            "Configuring Café Crème — Résumé & Notes",
+            "Краткое руководство по настройке резервного копирования PostgreSQL и восстановлению после сбоя"
+    })
+    private String title;
+
+    @Benchmark
+    public String legacy() {
+        return LegacySlugGenerator.fromText(title);
+    }
+
+    @Benchmark
+    public String tableDriven() {
+        return SlugGenerator.fromText(title);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.instructions.domain;
+
+import com.example.instructions.bench.SyntheticArticles;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Стоимость сбора статей в {@link HashSet}: равенство по идентификатору против прежнего
+ * равенства по всем полям (как генерировал Lombok {@code @Data}).
+ * <p>
+ * Выделение памяти на операцию видно с профилировщиком GC:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="ArticleIdentityBenchmark -prof gc"}
+ * ({@code gc.alloc.rate.norm}, байт на операцию).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleIdentityBenchmark {
+
+    @Param({"100"})
+    private int articles;
+
+    @Param({"20"})
+    private int chapters;
+
+    private List<Article> corpus;
+
+    @Setup
+    public void setUp() {
+        corpus = IntStream.range(0, articles)
+                .mapToObj(seed -> SyntheticArticles.article(chapters, 5, 2000, seed))
+                .toList();
+    }
+
+    @Benchmark
+    public Set<Article> identityEquality() {
+        return new HashSet<>(corpus);
+    }
+
+    @Benchmark
+    public int valueEquality() {
+        Set<Integer> hashes = new HashSet<>();
+        for (Article article : corpus) {
+            hashes.add(valueHashCode(article));
+        }
+        return hashes.size();
+    }
+
+    /**
+     * Хэш по всем полям в том же составе, что у прежнего {@code @Data}: строки кэшируют хэш,
+     * а JSON содержимого и коллекции обходятся при каждом вызове.
+     */
+    private static int valueHashCode(Article article) {
+        return Objects.hash(article.getId(), article.getTitle(), article.getSlug(), article.getSummary(),
+                article.getCoverImageUrl(), Arrays.deepHashCode(article.getTags()), article.getContentHtml(),
+                article.getContentJson(), article.getStatus(), article.getVersion(), article.getCreatedBy(),
+                article.getCreatedAt(), article.getUpdatedAt(), article.getSearchVector(),
+                new HashSet<>(article.getChapters()), article.getTagEntities());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.instructions.search;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Прежняя реализация {@code SearchService.buildSnippet}, сохранённая для сравнения в бенчмарке.
+ */
+final class LegacySnippetBuilder {
+
+    private static final Pattern MARKDOWN_PATTERN = Pattern.compile("[#*_`>\\[\\]]");
+
+    private LegacySnippetBuilder() {
+    }
+
+    static String build(String raw, String query) {
+        String sanitized = MARKDOWN_PATTERN.matcher(raw).replaceAll(" ");
+        sanitized = sanitized.replaceAll("\\s+", " ").trim();
+        if (sanitized.length() <= 200) {
+            return sanitized;
+        }
+        String lower = sanitized.toLowerCase(Locale.ROOT);
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        int index = lower.indexOf(lowerQuery);
+        if (index < 0) {
+            return sanitized.substring(0, 200).trim() + "...";
+        }
+        int start = Math.max(0, index - 60);
+        int end = Math.min(sanitized.length(), index + lowerQuery.length() + 60);
+        return sanitized.substring(start, end).trim() + "...";
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.instructions.search;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Сравнение построения фрагмента выдачи: прежний regex-конвейер по всему markdown
+ * против однопроходного {@link SnippetBuilder}.
+ * <p>
+ * {@code matchAt} — относительная позиция совпадения в тексте; {@code -1} — совпадения нет.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnippetBenchmark {
+
+    private static final String QUERY = "docker compose";
+
+    @Param({"2000", "50000"})
+    private int markdownLength;
+
+    @Param({"0.1", "0.9", "-1"})
+    private double matchAt;
+
+    private String markdown;
+    private List<String> terms;
+
+    @Setup
+    public void setUp() {
+        String paragraph = "## Раздел\n\nТекст с **разметкой**, `кодом` и [ссылкой](https://example.com).\n";
+        StringBuilder text = new StringBuilder(markdownLength + 64);
+        int insertAt = matchAt < 0 ? -1 : (int) (markdownLength * matchAt);
+        while (text.length() < markdownLength) {
+            if (insertAt >= 0 && text.length() >= insertAt) {
+                text.append("Запуск через Docker Compose описан ниже.\n");
+                insertAt = -1;
+            }
+            text.append(paragraph);
+        }
+        markdown = text.toString();
+        terms = SnippetBuilder.terms(QUERY);
+    }
+
+    @Benchmark
+    public String legacy() {
+        return LegacySnippetBuilder.build(markdown, QUERY);
+    }
+
+    @Benchmark
+    public Snippet singlePass() {
+        return SnippetBuilder.build(markdown, terms);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.instructions.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Разбор ролей из JWT, который выполняется на каждом аутентифицированном запросе.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRoleConverterBenchmark {
+
+    private final JwtRoleConverter converter = new JwtRoleConverter();
+
+    private final Jwt rolesClaim = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("editor")
+            .issuedAt(Instant.EPOCH)
+            .claim("roles", List.of("ADMIN", "editor"))
+            .build();
+
+    private final Jwt realmAccess = Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("editor")
+            .issuedAt(Instant.EPOCH)
+            .claim("realm_access", Map.of("roles", List.of("offline_access", "uma_authorization", "admin")))
+            .build();
+
+    @Benchmark
+    public Collection<GrantedAuthority> rolesClaim() {
+        return converter.convert(rolesClaim);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> realmAccess() {
+        return converter.convert(realmAccess);
+    }
+}
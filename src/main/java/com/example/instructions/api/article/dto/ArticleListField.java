@@ -0,0 +1,73 @@
+package com.example.instructions.api.article.dto;
+
+import com.example.instructions.common.BadRequestException;
+import org.springframework.util.StringUtils;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Поля элемента списка статей, доступные для выбора параметром {@code fields}.
+ */
+public enum ArticleListField {
+    ID(dto -> dto.setId(null)),
+    TITLE(dto -> dto.setTitle(null)),
+    SLUG(dto -> dto.setSlug(null)),
+    SUMMARY(dto -> dto.setSummary(null)),
+    COVER_IMAGE_URL(dto -> dto.setCoverImageUrl(null)),
+    TAGS(dto -> dto.setTags(null)),
+    STATUS(dto -> dto.setStatus(null)),
+    CREATED_AT(dto -> dto.setCreatedAt(null)),
+    UPDATED_AT(dto -> dto.setUpdatedAt(null));
+
+    private final Consumer<ArticleListItemDto> clearer;
+
+    ArticleListField(Consumer<ArticleListItemDto> clearer) {
+        this.clearer = clearer;
+    }
+
+    /**
+     * Разбирает список полей вида {@code id,title,coverImageUrl}.
+     *
+     * @param fields значение параметра или {@code null} — все поля
+     * @return выбранные поля
+     * @throws BadRequestException если указано неизвестное поле
+     */
+    public static Set<ArticleListField> parse(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return EnumSet.allOf(ArticleListField.class);
+        }
+        Set<ArticleListField> selected = EnumSet.noneOf(ArticleListField.class);
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String constant = name.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+            try {
+                selected.add(ArticleListField.valueOf(constant));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Неизвестное поле: " + name);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Обнуляет в DTO поля, которые не были выбраны.
+     *
+     * @param dto      элемент списка
+     * @param selected выбранные поля
+     * @return тот же DTO
+     */
+    public static ArticleListItemDto retain(ArticleListItemDto dto, Set<ArticleListField> selected) {
+        for (ArticleListField field : values()) {
+            if (!selected.contains(field)) {
+                field.clearer.accept(dto);
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.instructions.api.article.dto;
+
+import com.example.instructions.domain.ArticleStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO статьи в списке: без HTML и JSON содержимого.
+ * Поля, не выбранные параметром {@code fields}, не сериализуются.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleListItemDto {
+
+    private UUID id;
+    private String title;
+    private String slug;
+    private String summary;
+    private String coverImageUrl;
+    private List<String> tags;
+    private ArticleStatus status;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+}
@@ -1,10 +1,12 @@
 package com.example.instructions.api.article.mapper;
 
 import com.example.instructions.api.article.dto.ArticleCreateDto;
+import com.example.instructions.api.article.dto.ArticleListItemDto;
 import com.example.instructions.api.article.dto.ArticleResponseDto;
 import com.example.instructions.api.article.dto.ArticleUpdateDto;
 import com.example.instructions.domain.Article;
 import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.repo.ArticleListItem;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.mapstruct.*;
 
@@ -88,6 +90,15 @@ public interface ArticleEditorMapper {
     @Mapping(target = "tags", expression = "java(toList(article.getTags()))")
     ArticleResponseDto toDto(Article article);
 
+    /**
+     * Преобразует проекцию списка {@link ArticleListItem} в DTO {@link ArticleListItemDto}.
+     *
+     * @param item строка списка статей
+     * @return DTO элемента списка
+     */
+    @Mapping(target = "tags", expression = "java(toList(item.tags()))")
+    ArticleListItemDto toListItem(ArticleListItem item);
+
     /**
      * Преобразует массив тегов в список строк.
      *
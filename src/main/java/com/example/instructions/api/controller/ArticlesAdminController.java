@@ -1,12 +1,15 @@
 package com.example.instructions.api.controller;
 
 import com.example.instructions.api.article.dto.ArticleCreateDto;
+import com.example.instructions.api.article.dto.ArticleListField;
+import com.example.instructions.api.article.dto.ArticleListItemDto;
 import com.example.instructions.api.article.dto.ArticleResponseDto;
 import com.example.instructions.api.article.dto.ArticleUpdateDto;
 import com.example.instructions.common.PageResponse;
 import com.example.instructions.domain.ArticleStatus;
 import com.example.instructions.service.ArticleEditorService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -56,11 +60,17 @@ public class ArticlesAdminController {
 
     @PreAuthorize("permitAll()")
     @GetMapping("/list")
-    public PageResponse<ArticleResponseDto> list(@RequestParam(required = false) ArticleStatus status,
+    public PageResponse<ArticleListItemDto> list(@RequestParam(required = false) ArticleStatus status,
                                                  @RequestParam(required = false) String query,
                                                  @RequestParam(defaultValue = "0") @Min(0) int page,
-                                                 @RequestParam(defaultValue = "20") @Positive int size) {
-        return service.list(status, query, page, size);
+                                                 @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) String fields) {
+        Set<ArticleListField> selected = ArticleListField.parse(fields);
+        if (cursor != null) {
+            return service.listByCursor(status, query, cursor, size, selected);
+        }
+        return service.list(status, query, page, size, selected);
     }
 
     @PreAuthorize("permitAll()")
@@ -1,19 +1,46 @@
 package com.example.instructions.api.controller;
 
-import com.example.instructions.api.article.dto.ArticleResponseDto;
+import com.example.instructions.api.article.dto.ArticleListField;
+import com.example.instructions.api.article.dto.ArticleListItemDto;
 import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.api.dto.ArticleSkeletonDto;
+import com.example.instructions.api.dto.SectionDto;
 import com.example.instructions.api.dto.TocDto;
 import com.example.instructions.api.mapper.ArticleMapper;
+import com.example.instructions.cache.RenderedResponse;
+import com.example.instructions.cache.RenderedResponseCache;
 import com.example.instructions.common.PageResponse;
+import com.example.instructions.common.SlugMovedException;
 import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.repo.ArticleVersion;
 import com.example.instructions.service.ArticleEditorService;
+import com.example.instructions.service.ArticleJsonStreamer;
 import com.example.instructions.service.ArticleService;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/articles")
@@ -23,23 +50,134 @@ public class ArticlesPublicController {
     private final ArticleService articleService;
     private final ArticleEditorService editorService;
     private final ArticleMapper mapper;
+    private final RenderedResponseCache renderedResponseCache;
+    private final ArticleJsonStreamer articleJsonStreamer;
 
-    @GetMapping("/by-slug/{slug}")
-    public ArticleDto getBySlug(@PathVariable String slug) {
-       return articleService.getPublishedArticle(slug);
+    @GetMapping(value = "/by-slug/{slug}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ArticleDto.class)))
+    public ResponseEntity<byte[]> getBySlug(@PathVariable String slug, @RequestHeader HttpHeaders headers) {
+        HttpValidators current = HttpValidators.of(articleService.getPublishedVersion(slug));
+        Optional<ResponseEntity<byte[]>> notModified = RenderedResponses.notModified(headers, current);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        ArticleDto article = articleService.getPublishedArticle(slug);
+        RenderedResponse rendered = renderedResponseCache.get(RenderedResponseCache.Kind.ARTICLE,
+                article.getId(), article.getVersion(), () -> article);
+        return RenderedResponses.ok(rendered, headers, HttpValidators.of(article));
     }
 
-    @GetMapping("/{id}/toc")
-    public TocDto getToc(@PathVariable UUID id) {
-        return articleService.getPublishedToc(id);
+    /**
+     * Та же статья, что и {@code /by-slug/{slug}}, но записываемая в ответ по мере чтения секций из БД —
+     * для очень больших статей, которые не стоит собирать в память целиком.
+     * <p>
+     * Статья находится до отправки заголовков: 404 и 503 (нет свободного места под поток) приходят
+     * обычным ответом. ETag и Last-Modified берутся из той версии, которая будет записана.
+     */
+    @GetMapping(value = "/by-slug/{slug}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ArticleDto.class)))
+    public ResponseEntity<StreamingResponseBody> streamBySlug(@PathVariable String slug,
+                                                              @RequestHeader HttpHeaders headers) {
+        HttpValidators validators = HttpValidators.of("stream", articleService.getPublishedVersion(slug));
+        Optional<ResponseEntity<byte[]>> notModified = RenderedResponses.notModified(headers, validators);
+        if (notModified.isPresent()) {
+            return ResponseEntity.status(notModified.get().getStatusCode())
+                    .headers(notModified.get().getHeaders())
+                    .build();
+        }
+        ArticleJsonStreamer.ArticleStream stream = articleJsonStreamer.open(slug);
+        return RenderedResponses.streaming(stream::writeTo, HttpValidators.of("stream", stream.version()));
+    }
+
+    @GetMapping(value = "/{id}/toc", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = TocDto.class)))
+    public ResponseEntity<byte[]> getToc(@PathVariable UUID id, @RequestHeader HttpHeaders headers) {
+        ArticleVersion version = articleService.getPublishedVersion(id);
+        return renderPart(headers, HttpValidators.of("toc", version), () -> renderedResponseCache.get(
+                RenderedResponseCache.Kind.TOC, id, version.version(), () -> articleService.getPublishedToc(id)));
+    }
+
+    /**
+     * Каркас статьи для постепенной загрузки: заголовок и оглавление без текста секций.
+     */
+    @GetMapping(value = "/by-slug/{slug}/skeleton", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ArticleSkeletonDto.class)))
+    public ResponseEntity<byte[]> getSkeleton(@PathVariable String slug, @RequestHeader HttpHeaders headers) {
+        ArticleVersion version = articleService.getPublishedVersion(slug);
+        return renderPart(headers, HttpValidators.of("skeleton", version), () -> renderedResponseCache.get(
+                RenderedResponseCache.Kind.SKELETON, version.id(), version.version(),
+                () -> articleService.getPublishedSkeleton(slug)));
+    }
+
+    /**
+     * Секции статьи в порядке оглавления, страницами.
+     */
+    @GetMapping(value = "/{id}/sections", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = SectionDto.class)))
+    public ResponseEntity<byte[]> getSections(@PathVariable UUID id,
+                                              @RequestParam(defaultValue = "0") @Min(0) int page,
+                                              @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+                                              @RequestHeader HttpHeaders headers) {
+        ArticleVersion version = articleService.getPublishedVersion(id);
+        return renderPart(headers, HttpValidators.of("sections", version), () -> renderedResponseCache.get(
+                RenderedResponseCache.Kind.SECTIONS, id, "page:" + page + ":" + size, version.version(),
+                () -> articleService.getPublishedSections(id, page, size)));
+    }
+
+    /**
+     * Секции одной главы статьи.
+     */
+    @GetMapping(value = "/{id}/chapters/{chapterId}/sections", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = SectionDto.class)))
+    public ResponseEntity<byte[]> getChapterSections(@PathVariable UUID id,
+                                                     @PathVariable UUID chapterId,
+                                                     @RequestHeader HttpHeaders headers) {
+        ArticleVersion version = articleService.getPublishedVersion(id);
+        return renderPart(headers, HttpValidators.of("sections", version), () -> renderedResponseCache.get(
+                RenderedResponseCache.Kind.SECTIONS, id, "chapter:" + chapterId, version.version(),
+                () -> articleService.getPublishedSections(id, chapterId)));
+    }
+
+    /**
+     * Запрос по прежнему слагу статьи (см. {@code article_slug_history}) перенаправляется
+     * на тот же ресурс с текущим слагом.
+     */
+    @ExceptionHandler(SlugMovedException.class)
+    public ResponseEntity<Void> redirectToCurrentSlug(SlugMovedException ex, HttpServletRequest request) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(request.getRequestURI())
+                .query(request.getQueryString());
+        List<String> segments = new ArrayList<>(builder.build().getPathSegments());
+        segments.set(segments.indexOf("by-slug") + 1,
+                UriUtils.encodePathSegment(ex.getCurrentSlug(), StandardCharsets.UTF_8));
+        URI location = builder.replacePath(null).pathSegment(segments.toArray(String[]::new)).build(true).toUri();
+        return ResponseEntity.status(HttpStatus.MOVED_PERMANENTLY).location(location).build();
+    }
+
+    /**
+     * Отвечает 304 по валидаторам версии статьи, иначе отдаёт готовый ответ.
+     */
+    private static ResponseEntity<byte[]> renderPart(HttpHeaders headers,
+                                                     HttpValidators validators,
+                                                     Supplier<RenderedResponse> rendered) {
+        Optional<ResponseEntity<byte[]>> notModified = RenderedResponses.notModified(headers, validators);
+        if (notModified.isPresent()) {
+            return notModified.get();
+        }
+        return RenderedResponses.ok(rendered.get(), headers, validators);
     }
 
 
     @GetMapping
-    public PageResponse<ArticleResponseDto> list(@RequestParam(required = false) ArticleStatus status,
+    public PageResponse<ArticleListItemDto> list(@RequestParam(defaultValue = "PUBLISHED") ArticleStatus status,
                                                  @RequestParam(defaultValue = "0") @Min(0) int page,
-                                                 @RequestParam(defaultValue = "20") @Positive int size) {
-        return editorService.findAll(status, page, size);
+                                                 @RequestParam(defaultValue = "20") @Positive @Max(100) int size,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) String fields) {
+        Set<ArticleListField> selected = ArticleListField.parse(fields);
+        if (cursor != null) {
+            return editorService.listByCursor(status, null, cursor, size, selected);
+        }
+        return editorService.findAll(status, page, size, selected);
     }
 
 
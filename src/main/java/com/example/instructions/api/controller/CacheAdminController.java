@@ -0,0 +1,35 @@
+package com.example.instructions.api.controller;
+
+import com.example.instructions.api.model.CacheStatsResponse;
+import com.example.instructions.cache.PublishedArticleCache;
+import com.example.instructions.cache.RenderedResponseCache;
+import com.example.instructions.cache.SearchResultCache;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Административный контроллер статистики кэшей.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/caches")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final PublishedArticleCache publishedArticleCache;
+    private final RenderedResponseCache renderedResponseCache;
+    private final SearchResultCache searchResultCache;
+
+    @GetMapping
+    public List<CacheStatsResponse> stats() {
+        return List.of(
+                CacheStatsResponse.of("articles", publishedArticleCache.estimatedSize(), publishedArticleCache.stats()),
+                CacheStatsResponse.of("rendered", renderedResponseCache.estimatedSize(), renderedResponseCache.stats()),
+                CacheStatsResponse.of("search", searchResultCache.estimatedSize(), searchResultCache.stats())
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.instructions.api.controller;
+
+/**
+ * Кодирование тела предсериализованного ответа (значение заголовка Content-Encoding).
+ */
+enum ContentCoding {
+
+    IDENTITY(null),
+    GZIP("gzip"),
+    BROTLI("br");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * @return значение Content-Encoding или {@code null} для несжатого тела
+     */
+    String token() {
+        return token;
+    }
+}
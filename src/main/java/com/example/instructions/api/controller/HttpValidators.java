@@ -0,0 +1,82 @@
+package com.example.instructions.api.controller;
+
+import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.repo.ArticleVersion;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * HTTP-валидаторы публичного ответа статьи: сильный ETag из {@code id + version + updatedAt} и Last-Modified.
+ * <p>
+ * Для каждого сжатого варианта тела используется отдельный ETag, как того требует RFC 9110 для сильных валидаторов.
+ *
+ * @param tag          ETag без кавычек
+ * @param lastModified время изменения в миллисекундах
+ */
+record HttpValidators(String tag, long lastModified) {
+
+    static HttpValidators of(ArticleVersion version) {
+        return of(version.id(), version.version(), version.updatedAt());
+    }
+
+    static HttpValidators of(ArticleDto article) {
+        return of(article.getId(), article.getVersion(), article.getUpdatedAt());
+    }
+
+    /**
+     * Валидаторы производного ответа статьи (например, оглавления) — с собственным префиксом.
+     *
+     * @param prefix  вид ответа
+     * @param version версия статьи
+     * @return валидаторы
+     */
+    static HttpValidators of(String prefix, ArticleVersion version) {
+        HttpValidators base = of(version);
+        return new HttpValidators(prefix + "-" + base.tag(), base.lastModified());
+    }
+
+    private static HttpValidators of(UUID id, int version, OffsetDateTime updatedAt) {
+        long millis = updatedAt != null ? updatedAt.toInstant().toEpochMilli() : 0L;
+        return new HttpValidators(id + "-" + version + "-" + Long.toHexString(millis), millis);
+    }
+
+    /**
+     * @param coding кодирование отдаваемого представления
+     * @return значение заголовка ETag для представления
+     */
+    String etag(ContentCoding coding) {
+        return "\"" + tag + (coding.token() != null ? "-" + coding.token() : "") + "\"";
+    }
+
+    /**
+     * Проверяет условный запрос. If-None-Match имеет приоритет над If-Modified-Since.
+     *
+     * @param request  заголовки запроса
+     * @param accepted кодирования, которые принимает клиент
+     * @return ETag совпавшего представления ({@code ""}, если совпал только Last-Modified) или пусто
+     */
+    Optional<String> matchNotModified(HttpHeaders request, Set<ContentCoding> accepted) {
+        if (request.containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            for (String candidate : request.getIfNoneMatch()) {
+                String value = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+                if ("*".equals(value)) {
+                    return Optional.of(etag(ContentCoding.IDENTITY));
+                }
+                for (ContentCoding coding : accepted) {
+                    if (value.equals(etag(coding))) {
+                        return Optional.of(etag(coding));
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+        long ifModifiedSince = request.getIfModifiedSince();
+        if (ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000) {
+            return Optional.of("");
+        }
+        return Optional.empty();
+    }
+}
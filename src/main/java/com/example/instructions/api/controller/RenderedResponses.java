@@ -0,0 +1,145 @@
+package com.example.instructions.api.controller;
+
+import com.example.instructions.cache.RenderedResponse;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Построение HTTP-ответов из предсериализованных байтов без повторной сериализации.
+ */
+final class RenderedResponses {
+
+    /**
+     * Публичный контент можно хранить в CDN, но перед отдачей нужно перепроверить валидаторы.
+     */
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private RenderedResponses() {
+    }
+
+    /**
+     * Отвечает 304, если клиентская копия актуальна. Вызывается до загрузки и сериализации статьи.
+     *
+     * @param request    заголовки запроса
+     * @param validators текущие валидаторы ресурса
+     * @return ответ 304 или пусто
+     */
+    static Optional<ResponseEntity<byte[]>> notModified(HttpHeaders request, HttpValidators validators) {
+        Set<ContentCoding> accepted = acceptedCodings(request.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        return validators.matchNotModified(request, accepted)
+                .map(etag -> {
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                            .cacheControl(CACHE_CONTROL)
+                            .lastModified(validators.lastModified());
+                    if (!etag.isEmpty()) {
+                        builder.eTag(etag);
+                    }
+                    return builder.build();
+                });
+    }
+
+    /**
+     * Отдаёт brotli- или gzip-вариант, если клиент его принимает (brotli в приоритете), иначе исходный JSON.
+     *
+     * @param rendered   готовый ответ
+     * @param request    заголовки запроса
+     * @param validators валидаторы ресурса
+     * @return ответ 200 с телом из кэша
+     */
+    static ResponseEntity<byte[]> ok(RenderedResponse rendered, HttpHeaders request, HttpValidators validators) {
+        Set<ContentCoding> accepted = acceptedCodings(request.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        ContentCoding coding = ContentCoding.IDENTITY;
+        byte[] body = rendered.json();
+        if (rendered.hasBrotli() && accepted.contains(ContentCoding.BROTLI)) {
+            coding = ContentCoding.BROTLI;
+            body = rendered.brotli();
+        } else if (rendered.hasGzip() && accepted.contains(ContentCoding.GZIP)) {
+            coding = ContentCoding.GZIP;
+            body = rendered.gzip();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CACHE_CONTROL)
+                .eTag(validators.etag(coding))
+                .lastModified(validators.lastModified());
+        if (coding.token() != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, coding.token());
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Отдаёт тело, которое пишется в поток ответа по мере чтения из БД.
+     *
+     * @param body       запись тела
+     * @param validators валидаторы ресурса
+     * @return ответ 200 без Content-Length
+     */
+    static ResponseEntity<StreamingResponseBody> streaming(StreamingResponseBody body, HttpValidators validators) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CACHE_CONTROL)
+                .eTag(validators.etag(ContentCoding.IDENTITY))
+                .lastModified(validators.lastModified())
+                .body(body);
+    }
+
+    /**
+     * Разбирает Accept-Encoding. Явно указанное кодирование важнее {@code *}, {@code q=0} запрещает его.
+     *
+     * @param acceptEncoding значение заголовка
+     * @return принимаемые кодирования, несжатое тело принимается всегда
+     */
+    static Set<ContentCoding> acceptedCodings(String acceptEncoding) {
+        Set<ContentCoding> accepted = EnumSet.of(ContentCoding.IDENTITY);
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return accepted;
+        }
+        EnumSet<ContentCoding> listed = EnumSet.noneOf(ContentCoding.class);
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+            boolean allowed = tokens.length < 2 || !isZeroQuality(tokens[1]);
+            if ("*".equals(name)) {
+                wildcard = allowed;
+                continue;
+            }
+            for (ContentCoding coding : EnumSet.of(ContentCoding.GZIP, ContentCoding.BROTLI)) {
+                if (coding.token().equals(name)) {
+                    listed.add(coding);
+                    if (allowed) {
+                        accepted.add(coding);
+                    }
+                }
+            }
+        }
+        if (Boolean.TRUE.equals(wildcard)) {
+            accepted.addAll(EnumSet.complementOf(listed));
+        }
+        return accepted;
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        String value = parameter.trim();
+        if (!value.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(value.substring(2)) == 0.0;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.example.instructions.api.controller;
 
+import com.example.instructions.service.SitemapProperties;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@RequiredArgsConstructor
 public class RobotsController {
 
+    private final SitemapProperties sitemapProperties;
+
     @GetMapping(value = "/robots.txt", produces = MediaType.TEXT_PLAIN_VALUE)
     public String robots() {
         return """
             User-agent: *
             Allow: /
 
-            Sitemap: https://devhandbook.ru/sitemap.xml
-            """;
+            Sitemap: %s/sitemap_index.xml
+            """.formatted(sitemapProperties.getBaseUrl());
     }
 }
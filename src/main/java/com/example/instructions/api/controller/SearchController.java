@@ -1,8 +1,11 @@
 package com.example.instructions.api.controller;
 
 import com.example.instructions.api.dto.SearchResultDto;
+import com.example.instructions.api.dto.SuggestionDto;
 import com.example.instructions.common.PageResponse;
 import com.example.instructions.service.SearchService;
+import com.example.instructions.service.SuggestService;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
@@ -12,6 +15,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * Публичный контроллер поиска.
  */
@@ -21,16 +26,29 @@ import org.springframework.web.bind.annotation.RestController;
 public class SearchController {
 
     private final SearchService searchService;
+    private final SuggestService suggestService;
 
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, SuggestService suggestService) {
         this.searchService = searchService;
+        this.suggestService = suggestService;
     }
 
     @GetMapping
     public PageResponse<SearchResultDto> search(
             @RequestParam("query") @NotBlank String query,
             @RequestParam(name = "page", defaultValue = "0") @Min(0) int page,
-            @RequestParam(name = "size", defaultValue = "20") @Positive int size) {
+            @RequestParam(name = "size", defaultValue = "20") @Positive @Max(100) int size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return searchService.searchByCursor(query, cursor, size);
+        }
         return searchService.search(query, page, size);
     }
+
+    @GetMapping("/suggest")
+    public List<SuggestionDto> suggest(
+            @RequestParam("query") @NotBlank String query,
+            @RequestParam(name = "limit", defaultValue = "10") @Positive @Max(50) int limit) {
+        return suggestService.suggest(query, limit);
+    }
 }
@@ -1,27 +1,56 @@
 package com.example.instructions.api.controller;
 
-
-import org.springframework.core.io.FileSystemResource;
+import com.example.instructions.service.SitemapService;
+import com.example.instructions.sitemap.SitemapFile;
+import com.example.instructions.sitemap.SitemapSnapshot;
+import com.example.instructions.sitemap.SitemapWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.io.File;
+import java.util.Optional;
 
+/**
+ * Отдача sitemap из памяти: индекс по {@code /sitemap.xml} и {@code /sitemap_index.xml}, шарды в gzip.
+ */
 @RestController
+@RequiredArgsConstructor
 public class SitemapController {
 
-    @GetMapping(value = "/sitemap.xml", produces = MediaType.APPLICATION_XML_VALUE)
-    public ResponseEntity<FileSystemResource> getSitemap() {
-        // ⚙️ путь должен совпадать с тем, где генерируется файл
-        File file = new File(System.getProperty("java.io.tmpdir"), "sitemap.xml");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final SitemapService sitemapService;
 
-        if (!file.exists()) {
+    @GetMapping(value = {"/sitemap.xml", "/sitemap_index.xml"}, produces = MediaType.APPLICATION_XML_VALUE)
+    public ResponseEntity<byte[]> getSitemapIndex(WebRequest request) {
+        return respond(sitemapService.currentSnapshot().map(SitemapSnapshot::index), MediaType.APPLICATION_XML, request);
+    }
+
+    @GetMapping("/sitemap-{number:\\d+}.xml.gz")
+    public ResponseEntity<byte[]> getSitemapShard(@PathVariable int number, WebRequest request) {
+        Optional<SitemapFile> shard = sitemapService.currentSnapshot()
+                .flatMap(snapshot -> snapshot.shard(SitemapWriter.shardName(number)));
+        return respond(shard, GZIP, request);
+    }
+
+    private ResponseEntity<byte[]> respond(Optional<SitemapFile> file, MediaType contentType, WebRequest request) {
+        if (file.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-
-        return ResponseEntity.ok(new FileSystemResource(file));
+        SitemapFile sitemap = file.get();
+        if (request.checkNotModified(sitemap.etag(), sitemap.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .eTag(sitemap.etag())
+                .lastModified(sitemap.lastModified())
+                .body(sitemap.content());
     }
 }
-
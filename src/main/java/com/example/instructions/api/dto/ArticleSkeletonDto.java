@@ -0,0 +1,27 @@
+package com.example.instructions.api.dto;
+
+import com.example.instructions.domain.ArticleStatus;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Каркас статьи для постепенной загрузки: заголовок, теги и оглавление без HTML статьи
+ * и текста секций. Текст секций догружается по главам или страницами.
+ */
+@Data
+public class ArticleSkeletonDto {
+
+    private UUID id;
+    private String title;
+    private String slug;
+    private ArticleStatus status;
+    private int version;
+    private String description; // <= из summary
+    private OffsetDateTime updatedAt;
+    private List<TagDto> tags = new ArrayList<>();
+    private List<TocChapterDto> toc = new ArrayList<>();
+}
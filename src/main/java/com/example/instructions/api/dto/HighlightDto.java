@@ -0,0 +1,17 @@
+package com.example.instructions.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Подсвечиваемое совпадение во фрагменте результата поиска: полуинтервал {@code [start, end)}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HighlightDto {
+
+    private int start;
+    private int end;
+}
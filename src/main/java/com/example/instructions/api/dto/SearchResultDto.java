@@ -3,6 +3,7 @@ package com.example.instructions.api.dto;
 import com.example.instructions.api.enums.SearchResultType;
 import lombok.Data;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -15,5 +16,6 @@ public class SearchResultDto {
     private UUID id;
     private String title;
     private String snippet;
+    private List<HighlightDto> highlights;
     private String slug;
 }
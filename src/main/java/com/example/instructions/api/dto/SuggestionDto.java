@@ -0,0 +1,18 @@
+package com.example.instructions.api.dto;
+
+import com.example.instructions.api.enums.SearchResultType;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * DTO подсказки поиска по заголовкам.
+ */
+@Data
+public class SuggestionDto {
+
+    private SearchResultType type;
+    private UUID id;
+    private String title;
+    private String slug;
+}
@@ -6,11 +6,10 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * MapStruct-маппер для конвертации сущностей статьи в DTO.
@@ -67,23 +66,35 @@ public interface ArticleMapper {
     @Mapping(target = "chapters", expression = "java(mapChapters(article.getChapters()))")
     ArticleDto toPublicDto(Article article);
 
-    default List<ChapterDto> mapChapters(Set<Chapter> chapters) {
+    @Mapping(target = "description", source = "summary")
+    @Mapping(target = "tags", source = "tagEntities")
+    @Mapping(target = "toc", ignore = true)
+    ArticleSkeletonDto toSkeletonDto(Article article);
+
+    List<SectionDto> toSectionDtos(List<Section> sections);
+
+    /**
+     * Главы уже упорядочены по {@code order_index} ({@code @OrderBy} коллекции), пересортировка не нужна.
+     */
+    default List<ChapterDto> mapChapters(List<Chapter> chapters) {
         if (chapters == null || chapters.isEmpty()) {
             return Collections.emptyList();
         }
-        return chapters.stream()
-                .sorted(Comparator.comparingInt(Chapter::getOrderIndex))
-                .map(this::toChapterDto)
-                .collect(Collectors.toList());
+        List<ChapterDto> result = new ArrayList<>(chapters.size());
+        for (Chapter chapter : chapters) {
+            result.add(toChapterDto(chapter));
+        }
+        return result;
     }
 
-    default List<SectionDto> mapSections(Set<Section> sections) {
+    default List<SectionDto> mapSections(List<Section> sections) {
         if (sections == null || sections.isEmpty()) {
             return Collections.emptyList();
         }
-        return sections.stream()
-                .sorted(Comparator.comparingInt(Section::getOrderIndex))
-                .map(this::toSectionDto)
-                .collect(Collectors.toList());
+        List<SectionDto> result = new ArrayList<>(sections.size());
+        for (Section section : sections) {
+            result.add(toSectionDto(section));
+        }
+        return result;
     }
 }
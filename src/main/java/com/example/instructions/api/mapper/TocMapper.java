@@ -5,12 +5,13 @@ import com.example.instructions.api.dto.TocDto;
 import com.example.instructions.api.dto.TocSectionDto;
 import com.example.instructions.domain.Chapter;
 import com.example.instructions.domain.Section;
+import com.example.instructions.repo.TocRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
 import java.util.List;
-import java.util.Set;
+import java.util.UUID;
 
 /**
  * Маппер для построения оглавления.
@@ -20,7 +21,38 @@ public interface TocMapper {
 
     @Mapping(target = "items", source = "chapters")
     @Mapping(target = "articleId", source = "articleId")
-    TocDto toTocDto(java.util.UUID articleId, Set<Chapter> chapters);
+    TocDto toTocDto(UUID articleId, List<Chapter> chapters);
+
+    /**
+     * Собирает оглавление за один проход по строкам, упорядоченным по главам и секциям.
+     *
+     * @param articleId идентификатор статьи
+     * @param rows      строки оглавления
+     * @return оглавление
+     */
+    default TocDto fromRows(UUID articleId, List<TocRow> rows) {
+        TocDto toc = new TocDto();
+        toc.setArticleId(articleId);
+        TocChapterDto chapter = null;
+        for (TocRow row : rows) {
+            if (row.chapterId() == null) {
+                continue;
+            }
+            if (chapter == null || !chapter.getChapterId().equals(row.chapterId())) {
+                chapter = new TocChapterDto();
+                chapter.setChapterId(row.chapterId());
+                chapter.setChapterTitle(row.chapterTitle());
+                toc.getItems().add(chapter);
+            }
+            if (row.sectionId() != null) {
+                TocSectionDto section = new TocSectionDto();
+                section.setSectionId(row.sectionId());
+                section.setSectionTitle(row.sectionTitle());
+                chapter.getSections().add(section);
+            }
+        }
+        return toc;
+    }
 
     @Mapping(target = "chapterId", source = "id")
     @Mapping(target = "chapterTitle", source = "title")
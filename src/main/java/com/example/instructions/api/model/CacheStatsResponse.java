@@ -0,0 +1,22 @@
+package com.example.instructions.api.model;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Статистика in-process кэша.
+ */
+public record CacheStatsResponse(
+        String name,
+        long estimatedSize,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long evictionWeight
+) {
+
+    public static CacheStatsResponse of(String name, long estimatedSize, CacheStats stats) {
+        return new CacheStatsResponse(name, estimatedSize, stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount(), stats.evictionWeight());
+    }
+}
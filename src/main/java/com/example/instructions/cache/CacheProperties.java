@@ -0,0 +1,130 @@
+package com.example.instructions.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Настройки in-process кэшей публичного контента.
+ */
+@ConfigurationProperties("app.cache")
+public class CacheProperties {
+
+    private final Articles articles = new Articles();
+    private final Rendered rendered = new Rendered();
+    private final Search search = new Search();
+
+    public Articles getArticles() {
+        return articles;
+    }
+
+    public Rendered getRendered() {
+        return rendered;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    /**
+     * Кэш опубликованных статей по слагу.
+     */
+    public static class Articles {
+
+        private static final DataSize DEFAULT_MAX_SIZE = DataSize.ofMegabytes(64);
+
+        private boolean enabled = true;
+        private DataSize maxSize;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize != null ? maxSize : DEFAULT_MAX_SIZE;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Кэш предсериализованных JSON-ответов публичного API.
+     */
+    public static class Rendered {
+
+        private static final DataSize DEFAULT_MAX_SIZE = DataSize.ofMegabytes(64);
+        private static final DataSize DEFAULT_GZIP_MIN_SIZE = DataSize.ofKilobytes(1);
+
+        private boolean enabled = true;
+        private DataSize maxSize;
+        private DataSize gzipMinSize;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize != null ? maxSize : DEFAULT_MAX_SIZE;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public DataSize getGzipMinSize() {
+            return gzipMinSize != null ? gzipMinSize : DEFAULT_GZIP_MIN_SIZE;
+        }
+
+        public void setGzipMinSize(DataSize gzipMinSize) {
+            this.gzipMinSize = gzipMinSize;
+        }
+    }
+
+    /**
+     * Кэш страниц результатов поиска.
+     */
+    public static class Search {
+
+        private static final DataSize DEFAULT_MAX_SIZE = DataSize.ofMegabytes(16);
+        private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+        private boolean enabled = true;
+        private DataSize maxSize;
+        private Duration ttl;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize != null ? maxSize : DEFAULT_MAX_SIZE;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl != null ? ttl : DEFAULT_TTL;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.instructions.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Основа кэшей публичного API: Caffeine, ограниченный по оценке занимаемой памяти, со статистикой в Micrometer.
+ * <p>
+ * Загруженное значение не кладётся в кэш, если во время загрузки произошла инвалидация:
+ * так устаревшая версия не переживёт параллельную публикацию. Для этого каждая инвалидация
+ * увеличивает счётчик поколений, а запись выполняется, только если поколение не сменилось.
+ *
+ * @param <K> ключ
+ * @param <V> значение
+ */
+public abstract class GuardedCache<K, V> implements MeterBinder {
+
+    /** Грубая оценка заголовка объекта и ссылок на поля, байт. */
+    protected static final int OBJECT_OVERHEAD = 64;
+
+    private final String name;
+    private final boolean enabled;
+    private final Cache<K, V> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param name    имя кэша в метриках (тег {@code cache})
+     * @param enabled включено ли кэширование; выключенный кэш всегда обращается к загрузчику
+     * @param maxSize предел суммарного веса записей
+     * @param ttl     время жизни записи после записи или {@code null}, если записи живут до вытеснения
+     */
+    protected GuardedCache(String name, boolean enabled, DataSize maxSize, Duration ttl) {
+        this.name = name;
+        this.enabled = enabled;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .recordStats();
+        if (ttl != null) {
+            builder.expireAfterWrite(ttl);
+        }
+        this.cache = builder.weigher(this::weigh).build();
+    }
+
+    /**
+     * Оценивает объём записи в памяти.
+     *
+     * @param key   ключ записи
+     * @param value значение записи
+     * @return оценка в байтах
+     */
+    protected abstract int weigh(K key, V value);
+
+    /**
+     * Возвращает значение из кэша или загружает его через {@code loader}.
+     *
+     * @param key    ключ
+     * @param loader загрузчик значения
+     * @return значение
+     */
+    protected V get(K key, Supplier<? extends V> loader) {
+        return get(key, value -> true, loader);
+    }
+
+    /**
+     * Возвращает значение из кэша, если оно подходит, иначе загружает его через {@code loader}.
+     *
+     * @param key    ключ
+     * @param usable пригодно ли закэшированное значение (например, совпадает ли версия)
+     * @param loader загрузчик значения
+     * @return значение
+     */
+    protected V get(K key, Predicate<? super V> usable, Supplier<? extends V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        V cached = cache.getIfPresent(key);
+        if (cached != null && usable.test(cached)) {
+            return cached;
+        }
+        long generation = invalidations.get();
+        V loaded = loader.get();
+        if (invalidations.get() == generation) {
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * @param key ключ
+     * @return значение, если оно уже есть в кэше, иначе {@code null}
+     */
+    protected V peek(K key) {
+        return enabled ? cache.getIfPresent(key) : null;
+    }
+
+    protected void invalidate(Iterable<? extends K> keys) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(keys);
+    }
+
+    protected void invalidateIf(Predicate<? super K> matches) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(matches);
+    }
+
+    /**
+     * Сбрасывает все записи; загрузки, начатые до сброса, в кэш уже не попадут.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Публикует статистику кэша в Micrometer как {@code cache.*} с тегом {@code cache=<name>}.
+     *
+     * @param registry реестр метрик
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    /**
+     * @return накопленная статистика попаданий, промахов и вытеснений
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return приблизительное число записей
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * @param value строка или {@code null}
+     * @return объём символов строки в байтах
+     */
+    protected static long sizeOf(String value) {
+        return value != null ? 2L * value.length() : 0L;
+    }
+
+    /**
+     * @param bytes оценка объёма
+     * @return вес записи для Caffeine
+     */
+    protected static int toWeight(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+}
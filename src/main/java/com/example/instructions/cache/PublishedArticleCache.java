@@ -0,0 +1,81 @@
+package com.example.instructions.cache;
+
+import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.api.dto.ChapterDto;
+import com.example.instructions.api.dto.SectionDto;
+import com.example.instructions.api.dto.TagDto;
+import com.example.instructions.service.PublishedArticleChangedEvent;
+import java.util.Optional;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Ограниченный по объёму кэш готовых {@link ArticleDto} опубликованных статей по слагу.
+ * <p>
+ * Вытеснение — W-TinyLFU (Caffeine) с учётом примерного размера статьи в памяти.
+ * Инвалидация точечная: по слагам из {@link PublishedArticleChangedEvent} после коммита транзакции.
+ */
+@Component
+public class PublishedArticleCache extends GuardedCache<String, ArticleDto> {
+
+    private static final Logger log = LoggerFactory.getLogger(PublishedArticleCache.class);
+
+    public PublishedArticleCache(CacheProperties properties) {
+        super("articles", properties.getArticles().isEnabled(), properties.getArticles().getMaxSize(), null);
+    }
+
+    /**
+     * Возвращает статью из кэша или загружает её через {@code loader}.
+     *
+     * @param slug   слаг статьи
+     * @param loader загрузчик статьи из БД
+     * @return DTO статьи
+     */
+    public ArticleDto get(String slug, Function<String, ArticleDto> loader) {
+        return get(slug, () -> loader.apply(slug));
+    }
+
+    /**
+     * Возвращает статью, только если она уже есть в кэше.
+     *
+     * @param slug слаг статьи
+     * @return DTO статьи или пусто
+     */
+    public Optional<ArticleDto> getIfPresent(String slug) {
+        return Optional.ofNullable(peek(slug));
+    }
+
+    /**
+     * Сбрасывает записи по слагам изменённой статьи.
+     *
+     * @param event событие изменения опубликованной статьи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublishedArticleChanged(PublishedArticleChangedEvent event) {
+        invalidate(event.slugs());
+        log.debug("[ArticleCache] evicted articleId={} slugs={}", event.articleId(), event.slugs());
+    }
+
+    @Override
+    protected int weigh(String slug, ArticleDto article) {
+        return weigh(article);
+    }
+
+    static int weigh(ArticleDto article) {
+        long bytes = OBJECT_OVERHEAD + sizeOf(article.getTitle()) + sizeOf(article.getSlug())
+                + sizeOf(article.getDescription()) + sizeOf(article.getBody());
+        for (TagDto tag : article.getTags()) {
+            bytes += OBJECT_OVERHEAD + sizeOf(tag.getName()) + sizeOf(tag.getSlug());
+        }
+        for (ChapterDto chapter : article.getChapters()) {
+            bytes += OBJECT_OVERHEAD + sizeOf(chapter.getTitle());
+            for (SectionDto section : chapter.getSections()) {
+                bytes += OBJECT_OVERHEAD + sizeOf(section.getTitle()) + sizeOf(section.getMarkdown());
+            }
+        }
+        return toWeight(bytes);
+    }
+}
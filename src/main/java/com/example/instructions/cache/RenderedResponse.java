@@ -0,0 +1,27 @@
+package com.example.instructions.cache;
+
+/**
+ * Предсериализованный JSON-ответ: UTF-8 байты и, если выгодно, их сжатые варианты.
+ *
+ * @param version версия статьи, из которой построен ответ
+ * @param json    тело ответа в UTF-8
+ * @param gzip    gzip-тело или {@code null}, если ответ слишком мал для сжатия
+ * @param brotli  brotli-тело или {@code null}, если ответ мал или нативная библиотека brotli недоступна
+ */
+public record RenderedResponse(int version, byte[] json, byte[] gzip, byte[] brotli) {
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    public boolean hasBrotli() {
+        return brotli != null;
+    }
+
+    int weight() {
+        long bytes = (long) json.length
+                + (gzip != null ? gzip.length : 0)
+                + (brotli != null ? brotli.length : 0);
+        return GuardedCache.toWeight(bytes);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.instructions.cache;
+
+import com.example.instructions.service.PublishedArticleChangedEvent;
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Кэш готовых к отправке JSON-ответов публичного API статей.
+ * <p>
+ * Запись привязана к версии статьи: если запрошена другая версия, ответ сериализуется заново.
+ * Правки опубликованной статьи без смены версии сбрасывают записи по {@link PublishedArticleChangedEvent}.
+ * <p>
+ * Ответы от {@code gzip-min-size} сжимаются один раз при построении записи: в gzip и, если нативная
+ * библиотека brotli загрузилась на этой платформе, в brotli. Без неё кэш работает только с gzip.
+ */
+@Component
+public class RenderedResponseCache extends GuardedCache<RenderedResponseCache.Key, RenderedResponse> {
+
+    private static final Logger log = LoggerFactory.getLogger(RenderedResponseCache.class);
+
+    /**
+     * Сжатие выполняется один раз на версию статьи, поэтому берём качество выше значения по умолчанию.
+     */
+    private static final Encoder.Parameters BROTLI = new Encoder.Parameters()
+            .setQuality(9)
+            .setMode(Encoder.Mode.TEXT);
+
+    /**
+     * Вид публичного ответа.
+     */
+    public enum Kind {
+        ARTICLE,
+        TOC,
+        SKELETON,
+        SECTIONS
+    }
+
+    /**
+     * @param part часть ответа внутри статьи (глава, страница секций) или {@code ""}
+     */
+    record Key(Kind kind, UUID articleId, String part) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long gzipMinSize;
+    private final boolean brotliAvailable;
+
+    public RenderedResponseCache(CacheProperties properties, ObjectMapper objectMapper) {
+        super("rendered", properties.getRendered().isEnabled(), properties.getRendered().getMaxSize(), null);
+        CacheProperties.Rendered settings = properties.getRendered();
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = settings.getGzipMinSize().toBytes();
+        this.brotliAvailable = Brotli4jLoader.isAvailable();
+        if (!brotliAvailable) {
+            log.warn("Brotli недоступен, ответы будут сжиматься только gzip",
+                    Brotli4jLoader.getUnavailabilityCause());
+        }
+    }
+
+    /**
+     * Возвращает сериализованный ответ заданной версии статьи, при промахе сериализует {@code body}.
+     *
+     * @param kind      вид ответа
+     * @param articleId идентификатор статьи
+     * @param version   ожидаемая версия статьи
+     * @param body      поставщик объекта ответа
+     * @return готовые байты ответа
+     */
+    public RenderedResponse get(Kind kind, UUID articleId, int version, Supplier<?> body) {
+        return get(kind, articleId, "", version, body);
+    }
+
+    /**
+     * Возвращает сериализованную часть ответа статьи заданной версии, при промахе сериализует {@code body}.
+     *
+     * @param kind      вид ответа
+     * @param articleId идентификатор статьи
+     * @param part      часть ответа, например глава или страница секций
+     * @param version   ожидаемая версия статьи
+     * @param body      поставщик объекта ответа
+     * @return готовые байты ответа
+     */
+    public RenderedResponse get(Kind kind, UUID articleId, String part, int version, Supplier<?> body) {
+        return get(new Key(kind, articleId, part), cached -> cached.version() == version,
+                () -> render(version, body.get()));
+    }
+
+    /**
+     * Сбрасывает все ответы изменённой статьи.
+     *
+     * @param event событие изменения опубликованной статьи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublishedArticleChanged(PublishedArticleChangedEvent event) {
+        invalidateIf(key -> key.articleId().equals(event.articleId()));
+    }
+
+    @Override
+    protected int weigh(Key key, RenderedResponse response) {
+        return response.weight();
+    }
+
+    private RenderedResponse render(int version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            boolean compress = json.length >= gzipMinSize;
+            byte[] gzip = compress ? gzip(json) : null;
+            byte[] brotli = compress && brotliAvailable ? brotli(json) : null;
+            return new RenderedResponse(version, json, gzip, brotli);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать ответ", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] json) {
+        try {
+            return Encoder.compress(json, BROTLI);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.instructions.cache;
+
+import com.example.instructions.api.dto.SearchResultDto;
+import com.example.instructions.common.PageResponse;
+import com.example.instructions.service.PublishedArticleChangedEvent;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Кэш страниц результатов публичного поиска по нормализованному запросу.
+ * <p>
+ * Размер ограничен оценкой занимаемой памяти, а не числом записей: страницы разного размера
+ * весят по-разному. Каждая запись живёт не дольше {@code ttl}.
+ * Любое изменение набора опубликованных статей сбрасывает кэш целиком: результат поиска
+ * зависит от всех опубликованных статей, и точечная инвалидация здесь невозможна.
+ */
+@Component
+public class SearchResultCache extends GuardedCache<SearchResultCache.Key, PageResponse<SearchResultDto>> {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public SearchResultCache(CacheProperties properties) {
+        super("search", properties.getSearch().isEnabled(), properties.getSearch().getMaxSize(),
+                properties.getSearch().getTtl());
+    }
+
+    /**
+     * Приводит запрос к каноническому виду: обрезка, нижний регистр, схлопывание пробелов.
+     *
+     * @param query исходный запрос
+     * @return нормализованный запрос
+     */
+    public static String normalize(String query) {
+        return WHITESPACE.matcher(query.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Возвращает страницу результатов из кэша или выполняет поиск через {@code loader}.
+     *
+     * @param query  нормализованный запрос
+     * @param page   номер страницы
+     * @param size   размер страницы
+     * @param cursor курсор или {@code null} для постраничного режима
+     * @param loader выполнение поиска
+     * @return страница результатов
+     */
+    public PageResponse<SearchResultDto> get(String query, int page, int size, String cursor,
+                                             Supplier<PageResponse<SearchResultDto>> loader) {
+        return get(new Key(query, page, size, cursor), loader);
+    }
+
+    /**
+     * Сбрасывает все результаты после изменения набора опубликованных статей.
+     *
+     * @param event событие изменения опубликованной статьи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublishedArticleChanged(PublishedArticleChangedEvent event) {
+        invalidateAll();
+        log.debug("[SearchCache] flushed after articleId={}", event.articleId());
+    }
+
+    /**
+     * Оценивает объём записи в памяти по длине строк ключа и результатов.
+     *
+     * @param key  ключ записи
+     * @param page страница результатов
+     * @return оценка в байтах
+     */
+    @Override
+    protected int weigh(Key key, PageResponse<SearchResultDto> page) {
+        return weighPage(key, page);
+    }
+
+    static int weighPage(Key key, PageResponse<SearchResultDto> page) {
+        long bytes = OBJECT_OVERHEAD + sizeOf(key.query()) + sizeOf(key.cursor()) + sizeOf(page.getNextCursor());
+        for (SearchResultDto result : page.getContent()) {
+            bytes += OBJECT_OVERHEAD + sizeOf(result.getTitle()) + sizeOf(result.getSnippet())
+                    + sizeOf(result.getSlug());
+            if (result.getHighlights() != null) {
+                bytes += (long) OBJECT_OVERHEAD * result.getHighlights().size();
+            }
+        }
+        return toWeight(bytes);
+    }
+
+    record Key(String query, int page, int size, String cursor) {
+    }
+}
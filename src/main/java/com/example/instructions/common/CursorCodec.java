@@ -0,0 +1,59 @@
+package com.example.instructions.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Кодирование непрозрачных курсоров keyset-пагинации.
+ * <p>
+ * Курсор — base64url от значений ключа сортировки, разделённых символом {@code \0}.
+ * Первое значение — тип курсора, чтобы курсор поиска нельзя было подставить в список статей.
+ */
+public final class CursorCodec {
+
+    private static final char SEPARATOR = '\0';
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Кодирует значения ключа сортировки.
+     *
+     * @param type  тип курсора
+     * @param parts значения ключа
+     * @return непрозрачный курсор
+     */
+    public static String encode(String type, String... parts) {
+        StringBuilder builder = new StringBuilder(type);
+        for (String part : parts) {
+            builder.append(SEPARATOR).append(part);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Декодирует курсор и проверяет его тип и число значений.
+     *
+     * @param cursor        курсор из запроса
+     * @param type          ожидаемый тип курсора
+     * @param expectedParts ожидаемое число значений
+     * @return значения ключа без типа
+     * @throws BadRequestException если курсор повреждён или относится к другому списку
+     */
+    public static String[] decode(String cursor, String type, int expectedParts) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+        String[] parts = decoded.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != expectedParts + 1 || !parts[0].equals(type)) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+        String[] values = new String[expectedParts];
+        System.arraycopy(parts, 1, values, 0, expectedParts);
+        return values;
+    }
+}
@@ -10,5 +10,6 @@ public enum ErrorCode {
     BAD_REQUEST,
     VALIDATION_FAILED,
     PAYLOAD_TOO_LARGE,
+    SERVICE_UNAVAILABLE,
     INTERNAL_ERROR
 }
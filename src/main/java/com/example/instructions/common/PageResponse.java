@@ -1,24 +1,48 @@
 package com.example.instructions.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
 /**
  * Универсальная обёртка ответа со страницами.
+ * <p>
+ * В режиме offset-пагинации содержит {@code totalElements}; в режиме курсора — только {@code nextCursor}
+ * ({@code null} на последней странице), общее количество не считается.
  *
  * @param <T> тип содержимого страницы
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
 
     private final List<T> content;
     private final int page;
     private final int size;
-    private final long totalElements;
+    private final Long totalElements;
+    private final String nextCursor;
 
     public PageResponse(List<T> content, int page, int size, long totalElements) {
+        this(content, page, size, Long.valueOf(totalElements), null);
+    }
+
+    private PageResponse(List<T> content, int page, int size, Long totalElements, String nextCursor) {
         this.content = content;
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Страница keyset-пагинации без подсчёта общего количества.
+     *
+     * @param content    элементы страницы
+     * @param size       запрошенный размер страницы
+     * @param nextCursor курсор следующей страницы или {@code null}
+     * @param <T>        тип элементов
+     * @return страница
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> content, int size, String nextCursor) {
+        return new PageResponse<>(content, 0, size, null, nextCursor);
     }
 
     public List<T> getContent() {
@@ -33,7 +57,11 @@ public class PageResponse<T> {
         return size;
     }
 
-    public long getTotalElements() {
+    public Long getTotalElements() {
         return totalElements;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
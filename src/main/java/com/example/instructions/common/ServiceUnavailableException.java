@@ -0,0 +1,11 @@
+package com.example.instructions.common;
+
+/**
+ * Исключение для временного отказа из-за исчерпания ресурса; клиенту стоит повторить запрос позже.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,19 +1,30 @@
 package com.example.instructions.common;
 
 import java.text.Normalizer;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
-import java.util.regex.Pattern;
 
 /**
  * Утилита для генерации URL-совместимых слагов.
+ * <p>
+ * Каждый символ за один проход заменяется по таблице, индексированной {@code char}: кириллица
+ * транслитерируется, латиница с диакритикой сводится к базовой букве, пробельные символы и
+ * {@code -} дают разделитель, остальное отбрасывается. Повторные разделители схлопываются,
+ * в начале и в конце слага не остаются.
  */
 public final class SlugGenerator {
 
-    private static final Pattern NON_LATIN = Pattern.compile("[^a-z0-9-]");
-    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
-    private static final Map<Character, String> CYRILLIC_MAP = buildCyrillicMap();
+    private static final String CYRILLIC = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+
+    private static final String[] LATIN = {
+            "a", "b", "v", "g", "d", "e", "e", "zh", "z", "i", "y", "k", "l", "m", "n", "o", "p",
+            "r", "s", "t", "u", "f", "h", "ts", "ch", "sh", "sch", "", "y", "", "e", "yu", "ya"
+    };
+
+    /** Максимальная длина замены одного символа ({@code щ → sch}). */
+    private static final int MAX_EXPANSION = 3;
+
+    /** Замена для каждого символа: {@code null} — символ отбрасывается, {@code '-'} внутри — разделитель. */
+    private static final char[][] TABLE = buildTable();
 
     private SlugGenerator() {
     }
@@ -28,96 +39,63 @@ public final class SlugGenerator {
         if (input == null || input.isBlank()) {
             throw new BadRequestException("Нельзя сгенерировать слаг из пустой строки");
         }
-        String lower = transliterate(input).toLowerCase(Locale.ROOT);
-        String normalized = Normalizer.normalize(lower, Normalizer.Form.NFD);
-        String slug = NON_LATIN.matcher(
-                WHITESPACE.matcher(normalized).replaceAll("-")
-        ).replaceAll("");
-        slug = slug.replaceAll("-+", "-");
-        return slug.startsWith("-") ? slug.substring(1) : slug;
+        int length = input.length();
+        char[] out = new char[length * MAX_EXPANSION];
+        int size = 0;
+        boolean separator = false;
+        for (int i = 0; i < length; i++) {
+            char[] replacement = TABLE[input.charAt(i)];
+            if (replacement == null) {
+                continue;
+            }
+            for (char c : replacement) {
+                if (c == '-') {
+                    separator = true;
+                } else {
+                    if (separator && size > 0) {
+                        out[size++] = '-';
+                    }
+                    separator = false;
+                    out[size++] = c;
+                }
+            }
+        }
+        return new String(out, 0, size);
     }
 
-    private static String transliterate(String input) {
-        StringBuilder builder = new StringBuilder();
-        for (char c : input.toCharArray()) {
-            String replacement = CYRILLIC_MAP.get(c);
-            if (replacement != null) {
-                builder.append(replacement);
-            } else {
-                builder.append(c);
-            }
+    private static char[][] buildTable() {
+        char[][] table = new char[Character.MAX_VALUE + 1][];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            table[c] = replacement((char) c);
         }
-        return builder.toString();
+        for (int i = 0; i < CYRILLIC.length(); i++) {
+            char lower = CYRILLIC.charAt(i);
+            char[] latin = LATIN[i].isEmpty() ? null : LATIN[i].toCharArray();
+            table[lower] = latin;
+            table[Character.toUpperCase(lower)] = latin;
+        }
+        return table;
     }
 
-    private static Map<Character, String> buildCyrillicMap() {
-        Map<Character, String> map = new HashMap<>();
-        map.put('а', "a");
-        map.put('б', "b");
-        map.put('в', "v");
-        map.put('г', "g");
-        map.put('д', "d");
-        map.put('е', "e");
-        map.put('ё', "e");
-        map.put('ж', "zh");
-        map.put('з', "z");
-        map.put('и', "i");
-        map.put('й', "y");
-        map.put('к', "k");
-        map.put('л', "l");
-        map.put('м', "m");
-        map.put('н', "n");
-        map.put('о', "o");
-        map.put('п', "p");
-        map.put('р', "r");
-        map.put('с', "s");
-        map.put('т', "t");
-        map.put('у', "u");
-        map.put('ф', "f");
-        map.put('х', "h");
-        map.put('ц', "ts");
-        map.put('ч', "ch");
-        map.put('ш', "sh");
-        map.put('щ', "sch");
-        map.put('ы', "y");
-        map.put('э', "e");
-        map.put('ю', "yu");
-        map.put('я', "ya");
-        map.put('ъ', "");
-        map.put('ь', "");
-        map.put('А', "A");
-        map.put('Б', "B");
-        map.put('В', "V");
-        map.put('Г', "G");
-        map.put('Д', "D");
-        map.put('Е', "E");
-        map.put('Ё', "E");
-        map.put('Ж', "Zh");
-        map.put('З', "Z");
-        map.put('И', "I");
-        map.put('Й', "Y");
-        map.put('К', "K");
-        map.put('Л', "L");
-        map.put('М', "M");
-        map.put('Н', "N");
-        map.put('О', "O");
-        map.put('П', "P");
-        map.put('Р', "R");
-        map.put('С', "S");
-        map.put('Т', "T");
-        map.put('У', "U");
-        map.put('Ф', "F");
-        map.put('Х', "H");
-        map.put('Ц', "Ts");
-        map.put('Ч', "Ch");
-        map.put('Ш', "Sh");
-        map.put('Щ', "Sch");
-        map.put('Ы', "Y");
-        map.put('Э', "E");
-        map.put('Ю', "Yu");
-        map.put('Я', "Ya");
-        map.put('Ъ', "");
-        map.put('Ь', "");
-        return map;
+    /**
+     * Замена символа вне кириллицы: нижний регистр, каноническая декомпозиция NFD и отбор
+     * символов {@code [a-z0-9]}; пробельные символы (как {@code \s} в regex) и {@code -} — разделитель.
+     */
+    private static char[] replacement(char c) {
+        if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r' || c == '-') {
+            return new char[] {'-'};
+        }
+        if (Character.isSurrogate(c)) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c).toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder kept = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char d = decomposed.charAt(i);
+            if ((d >= 'a' && d <= 'z') || (d >= '0' && d <= '9')) {
+                kept.append(d);
+            }
+        }
+        return kept.isEmpty() ? null : kept.toString().toCharArray();
     }
 }
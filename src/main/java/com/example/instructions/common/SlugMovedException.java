@@ -0,0 +1,24 @@
+package com.example.instructions.common;
+
+/**
+ * Исключение для запроса статьи по прежнему слагу: статья доступна по {@link #getCurrentSlug()}.
+ */
+public class SlugMovedException extends RuntimeException {
+
+    private final String oldSlug;
+    private final String currentSlug;
+
+    public SlugMovedException(String oldSlug, String currentSlug) {
+        super("Статья перемещена: " + oldSlug + " -> " + currentSlug);
+        this.oldSlug = oldSlug;
+        this.currentSlug = currentSlug;
+    }
+
+    public String getOldSlug() {
+        return oldSlug;
+    }
+
+    public String getCurrentSlug() {
+        return currentSlug;
+    }
+}
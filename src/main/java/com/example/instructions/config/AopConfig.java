@@ -1,9 +1,22 @@
 package com.example.instructions.config;
 
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 
 @Configuration
 @EnableAspectJAutoProxy(proxyTargetClass = true, exposeProxy = false)
 public class AopConfig {
+
+    /**
+     * Таймеры для методов и классов с {@link io.micrometer.core.annotation.Timed}:
+     * {@code app.service} на сервисах и {@code app.db.query} на нативных репозиториях,
+     * с тегами {@code class} и {@code method}. Перцентили задаются в {@code management.metrics.distribution}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
 }
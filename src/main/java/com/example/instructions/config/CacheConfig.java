@@ -0,0 +1,13 @@
+package com.example.instructions.config;
+
+import com.example.instructions.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Регистрация настроек in-process кэшей.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+}
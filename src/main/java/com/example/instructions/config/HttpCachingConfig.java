@@ -0,0 +1,24 @@
+package com.example.instructions.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETag по хэшу содержимого для публичных списков и поиска, где версию ответа нельзя узнать заранее.
+ * <p>
+ * Ответы статей и оглавлений сюда не входят: их валидаторы вычисляются до загрузки данных.
+ */
+@Configuration
+public class HttpCachingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/v1/search", "/api/v1/articles", "/api/v1/articles/list");
+        registration.setName("shallowEtagHeaderFilter");
+        return registration;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.instructions.config;
+
+import com.example.instructions.metrics.QueryCountFilter;
+import com.example.instructions.metrics.QueryCountProperties;
+import com.example.instructions.metrics.QueryCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Подсчёт SQL-выражений на HTTP-запрос: счётчик в Hibernate и фильтр, который публикует результат.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryCountProperties.class)
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, QueryCounter.INSTANCE);
+            properties.put(AvailableSettings.INTERCEPTOR, QueryCounter.INSTANCE);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry,
+                                                                     QueryCountProperties properties) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry, properties));
+        // Снаружи Spring Security: учитываются и запросы, которые делает аутентификация.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
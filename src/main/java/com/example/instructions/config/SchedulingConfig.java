@@ -0,0 +1,15 @@
+package com.example.instructions.config;
+
+import com.example.instructions.service.SitemapProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи: планировщик Spring и настройки sitemap.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SitemapProperties.class)
+public class SchedulingConfig {
+}
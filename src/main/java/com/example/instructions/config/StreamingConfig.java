@@ -0,0 +1,13 @@
+package com.example.instructions.config;
+
+import com.example.instructions.service.ArticleStreamProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Настройки потоковой отдачи статей.
+ */
+@Configuration
+@EnableConfigurationProperties(ArticleStreamProperties.class)
+public class StreamingConfig {
+}
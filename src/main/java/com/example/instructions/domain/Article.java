@@ -2,6 +2,7 @@ package com.example.instructions.domain;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import jakarta.persistence.Basic;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -21,16 +22,26 @@ import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.*;
 
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.type.SqlTypes;
 
 /**
  * Сущность статьи с оглавлением и тегами.
+ * <p>
+ * Равенство — по идентификатору: хэширование не обходит содержимое и коллекции.
+ * HTML и JSON содержимого загружаются лениво, каждый своей группой (требует bytecode enhancement,
+ * см. {@code hibernate-enhance-maven-plugin}), поэтому списки и служебные выборки их не читают.
  */
 @Entity
 @Table(name = "article")
-@Data
+@Getter
+@Setter
 public class Article {
 
     @Id
@@ -53,9 +64,13 @@ public class Article {
     @Column(name = "tags", columnDefinition = "text[]")
     private String[] tags;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("html")
     @Column(name = "content_html", columnDefinition = "TEXT", nullable = false)
     private String contentHtml = "";
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("json")
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "content_json", columnDefinition = "jsonb", nullable = false)
     private JsonNode contentJson = JsonNodeFactory.instance.objectNode();
@@ -79,11 +94,18 @@ public class Article {
     @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
     private String searchVector;
 
+    /**
+     * Главы и теги догружаются отдельными плоскими запросами по подзапросу исходной выборки
+     * ({@link FetchMode#SUBSELECT}), а не join-ом в одну выборку: иначе теги × секции дают декартово произведение строк.
+     * Главы хранятся списком в порядке {@code order_index}, как их возвращает БД.
+     */
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, orphanRemoval = true)
     @jakarta.persistence.OrderBy("orderIndex ASC")
-    private Set<Chapter> chapters = new HashSet<>();
+    @Fetch(FetchMode.SUBSELECT)
+    private List<Chapter> chapters = new ArrayList<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     @JoinTable(name = "article_tag",
             joinColumns = @JoinColumn(name = "article_id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id"))
@@ -123,14 +145,33 @@ public class Article {
         }
     }
 
+    /**
+     * Содержимое здесь не проверяется: чтение ленивых полей во время flush догрузило бы их из БД.
+     * Пустые значения при изменении подставляет {@code ArticleEditorService}.
+     */
     @PreUpdate
     void onUpdate() {
         this.updatedAt = OffsetDateTime.now();
-        if (this.contentHtml == null) {
-            this.contentHtml = "";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
         }
-        if (this.contentJson == null) {
-            this.contentJson = JsonNodeFactory.instance.objectNode();
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
         }
+        return id != null && id.equals(((Article) o).getId());
+    }
+
+    /**
+     * Хэш идентификатора, а у ещё не сохранённой статьи — хэш экземпляра. Постоянный хэш
+     * (например, класса) сложил бы все статьи множества в одну корзину. Поэтому новую статью
+     * нельзя класть в хэш-коллекции до {@code persist}: идентификатор появится, а хэш изменится.
+     */
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : System.identityHashCode(this);
     }
 }
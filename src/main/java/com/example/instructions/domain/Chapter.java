@@ -18,6 +18,8 @@ import java.util.*;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.SecondaryRow;
 import org.hibernate.type.SqlTypes;
@@ -48,7 +50,8 @@ public class Chapter {
 
     @OneToMany(mappedBy = "chapter", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
-    private Set<Section> sections = new HashSet<>();
+    @Fetch(FetchMode.SUBSELECT)
+    private List<Section> sections = new ArrayList<>();
 
     /**
      * Добавляет секцию в главу с установкой обратной ссылки.
@@ -0,0 +1,10 @@
+package com.example.instructions.metrics;
+
+/**
+ * Число SQL-выражений и загруженных сущностей за запрос или действие.
+ *
+ * @param statements выполненные SQL-выражения, включая ленивые догрузки коллекций
+ * @param entities   сущности, материализованные Hibernate из строк результата
+ */
+public record QueryCount(int statements, int entities) {
+}
@@ -0,0 +1,97 @@
+package com.example.instructions.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Считает SQL-выражения и загруженные сущности за HTTP-запрос.
+ * <p>
+ * Значения пишутся в {@code app.db.statements} и {@code app.db.entities} с тегом {@code uri} (шаблон маршрута),
+ * превышение порога — в лог. В режиме разработки те же значения отдаются заголовками ответа.
+ * <p>
+ * Для асинхронных ответов ({@code StreamingResponseBody}) считаются выражения основного потока запроса;
+ * буфер режима разработки сбрасывается в ответ при асинхронной диспетчеризации, как в
+ * {@code ShallowEtagHeaderFilter}.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Query-Count";
+    public static final String ENTITIES_HEADER = "X-Entity-Count";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final QueryCountProperties properties;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, QueryCountProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            chain.doFilter(request, response);
+            ContentCachingResponseWrapper buffered =
+                    WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (buffered != null) {
+                buffered.copyBodyToResponse();
+            }
+            return;
+        }
+        // Заголовки нужно выставить до отправки тела, поэтому в режиме разработки ответ буферизуется.
+        ContentCachingResponseWrapper buffered = properties.isHeader() ? new ContentCachingResponseWrapper(response) : null;
+        QueryCounter.start();
+        QueryCount count;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            count = QueryCounter.stop();
+            record(request, count);
+        }
+        if (buffered != null) {
+            buffered.setHeader(STATEMENTS_HEADER, Integer.toString(count.statements()));
+            buffered.setHeader(ENTITIES_HEADER, Integer.toString(count.entities()));
+            if (!isAsyncStarted(request)) {
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCount count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("app.db.statements")
+                .description("SQL-выражения за HTTP-запрос")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count.statements());
+        DistributionSummary.builder("app.db.entities")
+                .description("Сущности Hibernate, загруженные за HTTP-запрос")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count.entities());
+        int threshold = properties.getWarnThreshold();
+        if (threshold > 0 && count.statements() >= threshold) {
+            log.warn("[QueryCount] {} {} executed {} SQL statements and loaded {} entities",
+                    request.getMethod(), uri, count.statements(), count.entities());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.instructions.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки подсчёта SQL-выражений на HTTP-запрос.
+ */
+@ConfigurationProperties("app.query-count")
+public class QueryCountProperties {
+
+    private static final int DEFAULT_WARN_THRESHOLD = 30;
+
+    private boolean header;
+    private Integer warnThreshold;
+
+    /**
+     * @return добавлять ли заголовки {@code X-Query-Count} и {@code X-Entity-Count}; только для разработки —
+     * тело ответа при этом буферизуется
+     */
+    public boolean isHeader() {
+        return header;
+    }
+
+    public void setHeader(boolean header) {
+        this.header = header;
+    }
+
+    /**
+     * @return число выражений за запрос, начиная с которого пишется предупреждение в лог; {@code 0} — не писать
+     */
+    public int getWarnThreshold() {
+        return warnThreshold != null ? warnThreshold : DEFAULT_WARN_THRESHOLD;
+    }
+
+    public void setWarnThreshold(Integer warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+}
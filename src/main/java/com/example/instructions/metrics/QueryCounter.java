@@ -0,0 +1,86 @@
+package com.example.instructions.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Счётчик SQL-выражений и загруженных сущностей Hibernate в пределах текущего потока.
+ * <p>
+ * Регистрируется в Hibernate как {@link StatementInspector} и {@link Interceptor}; считает только
+ * между {@link #start()} и {@link #stop()}, вне этого окна (фоновые задачи, старт приложения) ничего не делает.
+ */
+public final class QueryCounter implements StatementInspector, Interceptor {
+
+    public static final QueryCounter INSTANCE = new QueryCounter();
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Начинает подсчёт в текущем потоке, сбрасывая предыдущий.
+     */
+    public static void start() {
+        CURRENT.set(new Counts());
+    }
+
+    /**
+     * Завершает подсчёт в текущем потоке.
+     *
+     * @return накопленные значения; нули, если подсчёт не был начат
+     */
+    public static QueryCount stop() {
+        QueryCount count = current();
+        CURRENT.remove();
+        return count;
+    }
+
+    /**
+     * @return значения, накопленные с начала подсчёта в текущем потоке
+     */
+    public static QueryCount current() {
+        Counts counts = CURRENT.get();
+        return counts == null ? new QueryCount(0, 0) : new QueryCount(counts.statements, counts.entities);
+    }
+
+    /**
+     * Выполняет действие под подсчётом: для тестов, проверяющих бюджет запросов сервисного метода.
+     *
+     * @param action проверяемое действие
+     * @return число выражений и сущностей, выполненных и загруженных действием
+     */
+    public static QueryCount count(Runnable action) {
+        start();
+        try {
+            action.run();
+            return current();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entities++;
+        }
+        return false;
+    }
+
+    private static final class Counts {
+        private int statements;
+        private int entities;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.instructions.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Распределения размеров результатов: сколько строк вернул запрос и сколько весит отданный контент.
+ * Вместе с таймерами {@code app.db.query} показывают, медленный ли запрос сам по себе или просто большой.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResultSizeMetrics {
+
+    public static final String ROWS = "app.db.rows";
+    public static final String CONTENT_BYTES = "app.article.content.bytes";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Записывает число строк, возвращённых запросом.
+     *
+     * @param query имя запроса, попадает в тег {@code query}
+     * @param rows  число строк
+     */
+    public void rows(String query, int rows) {
+        DistributionSummary.builder(ROWS)
+                .tag("query", query)
+                .baseUnit("rows")
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * Записывает размер HTML статьи в байтах UTF-8, не кодируя строку.
+     *
+     * @param contentHtml HTML статьи или {@code null}
+     */
+    public void contentBytes(String contentHtml) {
+        DistributionSummary.builder(CONTENT_BYTES)
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(utf8Length(contentHtml));
+    }
+
+    static long utf8Length(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.ArticleStatus;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Поля статьи для потоковой отдачи, без глав, секций и HTML: HTML читается частями в момент записи.
+ *
+ * @param id          идентификатор
+ * @param title       заголовок
+ * @param slug        слаг
+ * @param status      статус
+ * @param version     версия
+ * @param summary     краткое описание
+ * @param updatedAt   время изменения
+ * @param tagsJson    теги статьи JSON-массивом {@code [{id, name, slug}]}
+ */
+public record ArticleHeaderRow(UUID id,
+                               String title,
+                               String slug,
+                               ArticleStatus status,
+                               int version,
+                               String summary,
+                               OffsetDateTime updatedAt,
+                               String tagsJson) {
+}
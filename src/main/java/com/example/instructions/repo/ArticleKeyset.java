@@ -0,0 +1,38 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.common.BadRequestException;
+import com.example.instructions.common.CursorCodec;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * Позиция в списке статей, отсортированном по {@code (updated_at DESC, id DESC)}.
+ *
+ * @param updatedAt время изменения последней выданной статьи
+ * @param id        идентификатор последней выданной статьи
+ */
+public record ArticleKeyset(OffsetDateTime updatedAt, UUID id) {
+
+    private static final String TYPE = "article";
+
+    /**
+     * @param cursor курсор из запроса; пустая строка означает первую страницу
+     * @return позиция или {@code null} для первой страницы
+     */
+    public static ArticleKeyset fromCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] values = CursorCodec.decode(cursor, TYPE, 2);
+        try {
+            return new ArticleKeyset(OffsetDateTime.parse(values[0]), UUID.fromString(values[1]));
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+    }
+
+    public String toCursor() {
+        return CursorCodec.encode(TYPE, updatedAt.toString(), id.toString());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.ArticleStatus;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Проекция статьи для списков: без {@code content_html} и {@code content_json}.
+ *
+ * @param id            идентификатор
+ * @param title         заголовок
+ * @param slug          слаг
+ * @param summary       краткое описание
+ * @param coverImageUrl обложка
+ * @param tags          теги
+ * @param status        статус
+ * @param createdAt     время создания
+ * @param updatedAt     время изменения
+ */
+public record ArticleListItem(UUID id,
+                              String title,
+                              String slug,
+                              String summary,
+                              String coverImageUrl,
+                              String[] tags,
+                              ArticleStatus status,
+                              OffsetDateTime createdAt,
+                              OffsetDateTime updatedAt) {
+}
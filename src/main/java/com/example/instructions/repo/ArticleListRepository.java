@@ -0,0 +1,33 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.ArticleStatus;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Чтение списков статей лёгкой проекцией {@link ArticleListItem}: тяжёлые TEXT/JSONB-колонки не читаются.
+ */
+public interface ArticleListRepository {
+
+    /**
+     * Возвращает страницу статей с OFFSET-пагинацией и общим количеством.
+     *
+     * @param status   фильтр по статусу или {@code null}
+     * @param query    полнотекстовый запрос или {@code null}
+     * @param pageable параметры страницы
+     * @return страница статей
+     */
+    Page<ArticleListItem> findPage(ArticleStatus status, String query, Pageable pageable);
+
+    /**
+     * Возвращает статьи после заданной позиции в порядке {@code updated_at DESC, id DESC}.
+     *
+     * @param status фильтр по статусу или {@code null}
+     * @param query  полнотекстовый запрос или {@code null}
+     * @param after  позиция последней выданной статьи или {@code null} для первой страницы
+     * @param limit  максимальное число статей
+     * @return статьи страницы
+     */
+    List<ArticleListItem> findPage(ArticleStatus status, String query, ArticleKeyset after, int limit);
+}
@@ -0,0 +1,148 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.metrics.ResultSizeMetrics;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+/**
+ * Реализация списков статей на нативном SQL с явным перечнем колонок.
+ * <p>
+ * Условия добавляются только при наличии параметров, чтобы планировщик мог
+ * пройти индекс {@code (updated_at DESC, id DESC)} сразу с нужной позиции.
+ */
+@Repository
+@Timed("app.db.query")
+@RequiredArgsConstructor
+public class ArticleListRepositoryImpl implements ArticleListRepository {
+
+    private static final String COLUMNS =
+            "a.id, a.title, a.slug, a.summary, a.cover_image_url, a.tags, a.status, a.created_at, a.updated_at";
+
+    private static final String ORDER_BY = " ORDER BY a.updated_at DESC, a.id DESC";
+
+    private final ResultSizeMetrics resultSizeMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ArticleListItem> findPage(ArticleStatus status, String query, Pageable pageable) {
+        String where = where(status, query, null);
+        Query pageQuery = entityManager.createNativeQuery("SELECT " + COLUMNS + " FROM article a" + where + ORDER_BY)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        bind(pageQuery, status, query, null);
+        List<ArticleListItem> content = toItems(pageQuery);
+        resultSizeMetrics.rows("article_list", content.size());
+
+        Query countQuery = entityManager.createNativeQuery("SELECT count(*) FROM article a" + where);
+        bind(countQuery, status, query, null);
+        long total = ((Number) countQuery.getSingleResult()).longValue();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<ArticleListItem> findPage(ArticleStatus status, String query, ArticleKeyset after, int limit) {
+        String sql = "SELECT " + COLUMNS + " FROM article a" + where(status, query, after) + ORDER_BY + " LIMIT :limit";
+        Query nativeQuery = entityManager.createNativeQuery(sql)
+                .setParameter("limit", limit);
+        bind(nativeQuery, status, query, after);
+        List<ArticleListItem> items = toItems(nativeQuery);
+        resultSizeMetrics.rows("article_list_keyset", items.size());
+        return items;
+    }
+
+    private String where(ArticleStatus status, String query, ArticleKeyset after) {
+        StringBuilder sql = new StringBuilder(" WHERE TRUE");
+        if (status != null) {
+            sql.append(" AND a.status = :status");
+        }
+        if (StringUtils.hasText(query)) {
+            sql.append(" AND a.search_vector @@ plainto_tsquery('simple', :query)");
+        }
+        if (after != null) {
+            sql.append(" AND (a.updated_at, a.id) < (:afterUpdatedAt, :afterId)");
+        }
+        return sql.toString();
+    }
+
+    private void bind(Query nativeQuery, ArticleStatus status, String query, ArticleKeyset after) {
+        if (status != null) {
+            nativeQuery.setParameter("status", status.name());
+        }
+        if (StringUtils.hasText(query)) {
+            nativeQuery.setParameter("query", query.trim());
+        }
+        if (after != null) {
+            nativeQuery.setParameter("afterUpdatedAt", after.updatedAt());
+            nativeQuery.setParameter("afterId", after.id());
+        }
+    }
+
+    private List<ArticleListItem> toItems(Query nativeQuery) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("title", String.class)
+                .addScalar("slug", String.class)
+                .addScalar("summary", String.class)
+                .addScalar("cover_image_url", String.class)
+                .addScalar("tags")
+                .addScalar("status", String.class)
+                .addScalar("created_at", OffsetDateTime.class)
+                .addScalar("updated_at", OffsetDateTime.class)
+                .getResultList();
+        List<ArticleListItem> items = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            items.add(new ArticleListItem(
+                    (UUID) row[0],
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    (String) row[4],
+                    toStringArray(row[5]),
+                    ArticleStatus.valueOf((String) row[6]),
+                    (OffsetDateTime) row[7],
+                    (OffsetDateTime) row[8]
+            ));
+        }
+        return items;
+    }
+
+    private static String[] toStringArray(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String[] strings) {
+            return strings;
+        }
+        if (value instanceof Object[] objects) {
+            return Arrays.stream(objects).map(String::valueOf).toArray(String[]::new);
+        }
+        if (value instanceof Array array) {
+            try {
+                return toStringArray(array.getArray());
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Не удалось прочитать теги статьи", ex);
+            }
+        }
+        throw new IllegalStateException("Неожиданный тип колонки tags: " + value.getClass());
+    }
+}
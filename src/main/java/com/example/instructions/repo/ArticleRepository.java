@@ -2,62 +2,41 @@ package com.example.instructions.repo;
 
 import com.example.instructions.domain.Article;
 import com.example.instructions.domain.ArticleStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий статей.
  */
 public interface ArticleRepository extends JpaRepository<Article, UUID> {
 
-    @EntityGraph(attributePaths = {"tagEntities"})
-    Page<Article> findAllByStatus(ArticleStatus status, Pageable pageable);
-
     @EntityGraph(attributePaths = {"tagEntities"})
     Page<Article> findByStatusAndTitleContainingIgnoreCase(ArticleStatus status, String title, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"tagEntities", "chapters", "chapters.sections"})
-    Optional<Article> findById(UUID id);
-
-    @EntityGraph(attributePaths = {"tagEntities", "chapters", "chapters.sections"})
+    /**
+     * Статья без связей; теги, главы и секции догружаются плоскими запросами при обращении
+     * (см. {@link ArticleTreeRepository} для загрузки дерева целиком).
+     */
     Optional<Article> findBySlugAndStatus(String slug, ArticleStatus status);
 
-    @EntityGraph(attributePaths = {"tagEntities", "chapters", "chapters.sections"})
-    Optional<Article> findBySlug(String slug);
-
-    @EntityGraph(attributePaths = {"tagEntities", "chapters", "chapters.sections"})
-    @Query("select a from Article a where a.id = :id")
-    Optional<Article> findDetailedById(UUID id);
-
-    @Query("""
-        select distinct a
-        from Article a
-        left join fetch a.tagEntities t
-        left join fetch a.chapters c
-        left join fetch c.sections s
-        where a.slug = :slug and a.status = :status
-    """)
-    Optional<Article> findDetailedBySlugAndStatus(@Param("slug") String slug,
-                                                  @Param("status") ArticleStatus status);
-
-    @Query("""
-        select distinct a
-        from Article a
-        left join fetch a.chapters c
-        left join fetch c.sections s
-        where a.id = :id and a.status = :status
-    """)
-    Optional<Article> findDetailedByIdAndStatus(@Param("id") UUID id,
-                                                @Param("status") ArticleStatus status);
-
+    /**
+     * Статья с тегами, без глав и секций — для каркаса статьи.
+     */
+    @EntityGraph(attributePaths = {"tagEntities"})
+    Optional<Article> findWithTagsBySlugAndStatus(String slug, ArticleStatus status);
 
     @Query(
             value = """
@@ -77,6 +56,88 @@ public interface ArticleRepository extends JpaRepository<Article, UUID> {
                          @Param("query") String query,
                          Pageable pageable);
 
-    Set<Article> findAllByStatus(ArticleStatus status);
+    @Query("""
+        select new com.example.instructions.repo.SitemapEntry(a.id, a.id, a.slug, a.updatedAt)
+        from Article a
+        where a.status = :status
+        order by a.slug
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SitemapEntry> streamSitemapEntries(@Param("status") ArticleStatus status);
+
+    @Query("""
+        select new com.example.instructions.repo.SitemapEntry(a.id, a.id, a.slug, a.updatedAt)
+        from Article a
+        where a.id = :id and a.status = :status
+    """)
+    Optional<SitemapEntry> findSitemapEntry(@Param("id") UUID id, @Param("status") ArticleStatus status);
+
+    /**
+     * Статьи, изменённые не раньше указанного времени, — в том числе снятые с публикации.
+     *
+     * @param since нижняя граница {@code updated_at}
+     * @return идентификаторы статей
+     */
+    @Query("select a.id from Article a where a.updatedAt >= :since")
+    List<UUID> findIdsUpdatedSince(@Param("since") OffsetDateTime since);
+
+    /**
+     * Текущий слаг опубликованной статьи, которая раньше была доступна по {@code oldSlug}.
+     *
+     * @param oldSlug прежний слаг из {@code article_slug_history}
+     * @return текущий слаг или пусто
+     */
+    @Query(value = """
+        SELECT a.slug
+        FROM article_slug_history h
+        JOIN article a ON a.id = h.article_id
+        WHERE h.old_slug = :oldSlug AND a.status = 'PUBLISHED'
+        ORDER BY h.changed_at DESC
+        LIMIT 1
+    """, nativeQuery = true)
+    Optional<String> findPublishedSlugByOldSlug(@Param("oldSlug") String oldSlug);
+
+    /**
+     * Возвращает занятые слаги вида {@code base} и {@code base-*} одним запросом по индексу {@code uniq_article_slug}.
+     *
+     * @param base      базовый слаг
+     * @param pattern   шаблон {@code base-%}
+     * @param currentId статья, чей слаг не считается занятым, или {@code null}
+     * @return занятые слаги
+     */
+    @Query("""
+        select a.slug
+        from Article a
+        where (a.slug = :base or a.slug like :pattern)
+          and (:currentId is null or a.id <> :currentId)
+    """)
+    List<String> findSlugsLike(@Param("base") String base,
+                               @Param("pattern") String pattern,
+                               @Param("currentId") UUID currentId);
+
+    /**
+     * Берёт транзакционную advisory-блокировку на базовый слаг: параллельные выделения
+     * одного и того же слага выполняются по очереди до коммита.
+     *
+     * @param base базовый слаг
+     * @return всегда {@code 1}; функция блокировки сама возвращает {@code void}
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:base))", nativeQuery = true)
+    int lockSlug(@Param("base") String base);
+
+    @Query("""
+        select new com.example.instructions.repo.ArticleVersion(a.id, a.version, a.updatedAt)
+        from Article a
+        where a.id = :id and a.status = :status
+    """)
+    Optional<ArticleVersion> findVersionByIdAndStatus(@Param("id") UUID id, @Param("status") ArticleStatus status);
+
+    @Query("""
+        select new com.example.instructions.repo.ArticleVersion(a.id, a.version, a.updatedAt)
+        from Article a
+        where a.slug = :slug and a.status = :status
+    """)
+    Optional<ArticleVersion> findVersionBySlugAndStatus(@Param("slug") String slug,
+                                                        @Param("status") ArticleStatus status);
 
 }
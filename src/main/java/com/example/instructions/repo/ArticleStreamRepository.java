@@ -0,0 +1,44 @@
+package com.example.instructions.repo;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Чтение опубликованной статьи для потоковой отдачи: секции читаются курсором,
+ * не собираясь в память целиком.
+ */
+public interface ArticleStreamRepository {
+
+    /**
+     * @param slug слаг опубликованной статьи
+     * @return поля статьи с тегами или пусто
+     */
+    Optional<ArticleHeaderRow> findPublishedHeader(String slug);
+
+    /**
+     * @param articleId идентификатор статьи
+     * @param version   ожидаемая версия
+     * @return опубликована ли статья в этой версии
+     */
+    boolean isPublishedVersion(UUID articleId, int version);
+
+    /**
+     * Читает фрагмент HTML статьи, не загружая его целиком.
+     *
+     * @param articleId идентификатор статьи
+     * @param offset    смещение в символах от начала, с нуля
+     * @param length    максимум символов
+     * @return фрагмент; пустая строка, если HTML закончился
+     */
+    String readContentHtml(UUID articleId, int offset, int length);
+
+    /**
+     * Передаёт главы и секции статьи по одной в порядке оглавления.
+     * Должен вызываться в транзакции: без неё драйвер PostgreSQL не открывает курсор.
+     *
+     * @param articleId идентификатор статьи
+     * @param action    обработчик строки
+     */
+    void forEachSection(UUID articleId, Consumer<SectionRow> action);
+}
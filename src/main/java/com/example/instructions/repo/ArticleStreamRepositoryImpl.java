@@ -0,0 +1,99 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.ArticleStatus;
+import io.micrometer.core.annotation.Timed;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Реализация на {@link JdbcTemplate}: строки секций читаются однонаправленным курсором
+ * порциями по {@value #FETCH_SIZE} и сразу передаются обработчику.
+ */
+@Repository
+@Timed("app.db.query")
+public class ArticleStreamRepositoryImpl implements ArticleStreamRepository {
+
+    private static final int FETCH_SIZE = 32;
+
+    private static final String HEADER_SQL = """
+            SELECT a.id, a.title, a.slug, a.status, a.version, a.summary, a.updated_at,
+                   COALESCE((SELECT json_agg(json_build_object('id', t.id, 'name', t.name, 'slug', t.slug)
+                                             ORDER BY t.name)
+                             FROM article_tag at JOIN tag t ON t.id = at.tag_id
+                             WHERE at.article_id = a.id), '[]')::text AS tags
+            FROM article a
+            WHERE a.slug = ? AND a.status = ?
+            """;
+
+    private static final String PUBLISHED_VERSION_SQL = """
+            SELECT EXISTS (SELECT 1 FROM article WHERE id = ? AND version = ? AND status = ?)
+            """;
+
+    private static final String CONTENT_HTML_SQL = """
+            SELECT substr(content_html, ?, ?) FROM article WHERE id = ?
+            """;
+
+    private static final String SECTIONS_SQL = """
+            SELECT c.id AS chapter_id, c.title AS chapter_title, c.order_index AS chapter_order,
+                   s.id AS section_id, s.title AS section_title, s.order_index AS section_order, s.markdown
+            FROM chapter c
+            LEFT JOIN section s ON s.chapter_id = c.id
+            WHERE c.article_id = ?
+            ORDER BY c.order_index, c.id, s.order_index, s.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArticleStreamRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public Optional<ArticleHeaderRow> findPublishedHeader(String slug) {
+        List<ArticleHeaderRow> rows = jdbcTemplate.query(HEADER_SQL, (rs, rowNum) -> new ArticleHeaderRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("title"),
+                rs.getString("slug"),
+                ArticleStatus.valueOf(rs.getString("status")),
+                rs.getInt("version"),
+                rs.getString("summary"),
+                rs.getObject("updated_at", OffsetDateTime.class),
+                rs.getString("tags")
+        ), slug, ArticleStatus.PUBLISHED.name());
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public boolean isPublishedVersion(UUID articleId, int version) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(PUBLISHED_VERSION_SQL, Boolean.class,
+                articleId, version, ArticleStatus.PUBLISHED.name()));
+    }
+
+    @Override
+    public String readContentHtml(UUID articleId, int offset, int length) {
+        List<String> chunk = jdbcTemplate.queryForList(CONTENT_HTML_SQL, String.class, offset + 1, length, articleId);
+        return chunk.isEmpty() || chunk.get(0) == null ? "" : chunk.get(0);
+    }
+
+    @Override
+    public void forEachSection(UUID articleId, Consumer<SectionRow> action) {
+        jdbcTemplate.query(SECTIONS_SQL, rs -> {
+            action.accept(new SectionRow(
+                    rs.getObject("chapter_id", UUID.class),
+                    rs.getString("chapter_title"),
+                    rs.getInt("chapter_order"),
+                    rs.getObject("section_id", UUID.class),
+                    rs.getString("section_title"),
+                    rs.getInt("section_order"),
+                    rs.getString("markdown")
+            ));
+        }, articleId);
+    }
+}
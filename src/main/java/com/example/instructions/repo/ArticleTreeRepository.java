@@ -0,0 +1,24 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.Article;
+import com.example.instructions.domain.ArticleStatus;
+import java.util.Optional;
+
+/**
+ * Загрузка статьи вместе с тегами, главами и секциями несколькими плоскими запросами.
+ * <p>
+ * Вместо одного join-а по всем коллекциям (теги × секции строк) выполняются отдельные выборки:
+ * статья, её теги, главы вместе с секциями и список глав статьи. Число запросов не зависит от
+ * размера статьи, передаётся примерно {@code 1 + T + S + C} строк вместо {@code T × S}.
+ */
+public interface ArticleTreeRepository {
+
+    /**
+     * Возвращает статью с полностью инициализированным деревом, пригодным для использования вне транзакции.
+     *
+     * @param slug   слаг статьи
+     * @param status статус статьи
+     * @return статья или пусто
+     */
+    Optional<Article> findTreeBySlugAndStatus(String slug, ArticleStatus status);
+}
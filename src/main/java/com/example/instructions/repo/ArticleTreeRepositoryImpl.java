@@ -0,0 +1,49 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.Article;
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.domain.Chapter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Реализация загрузки дерева статьи пятью запросами: статья, её ленивый HTML, теги, главы с секциями
+ * (строк столько же, сколько секций, без колонок статьи) и коллекция глав статьи, которая
+ * собирается из уже загруженных в контекст глав.
+ */
+@Repository
+@Timed("app.db.query")
+public class ArticleTreeRepositoryImpl implements ArticleTreeRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Article> findTreeBySlugAndStatus(String slug, ArticleStatus status) {
+        return entityManager.createQuery(
+                        "select a from Article a where a.slug = :slug and a.status = :status", Article.class)
+                .setParameter("slug", slug)
+                .setParameter("status", status)
+                .getResultStream()
+                .findFirst()
+                .map(this::initializeTree);
+    }
+
+    private Article initializeTree(Article article) {
+        article.getContentHtml();
+        Hibernate.initialize(article.getTagEntities());
+        // Дубликаты глав из fetch join Hibernate 6 убирает сам; DISTINCT в SQL сравнивал бы и markdown секций.
+        entityManager.createQuery("select c from Chapter c left join fetch c.sections s "
+                        + "where c.article = :article order by c.orderIndex, s.orderIndex", Chapter.class)
+                .setParameter("article", article)
+                .getResultList();
+        Hibernate.initialize(article.getChapters());
+        return article;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.instructions.repo;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Лёгкая проекция статьи для HTTP-валидаторов: без содержимого и связей.
+ *
+ * @param id        идентификатор статьи
+ * @param version   номер версии
+ * @param updatedAt время последнего изменения
+ */
+public record ArticleVersion(UUID id, int version, OffsetDateTime updatedAt) {
+}
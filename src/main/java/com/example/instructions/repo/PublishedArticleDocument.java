@@ -0,0 +1,22 @@
+package com.example.instructions.repo;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Строка read-model {@code published_article}: сериализованные документ статьи и оглавление.
+ *
+ * @param slug      слаг опубликованной статьи
+ * @param articleId идентификатор статьи
+ * @param version   версия статьи
+ * @param updatedAt время последнего изменения статьи
+ * @param document  JSON {@code ArticleDto}
+ * @param toc       JSON {@code TocDto}
+ */
+public record PublishedArticleDocument(String slug,
+                                       UUID articleId,
+                                       int version,
+                                       OffsetDateTime updatedAt,
+                                       String document,
+                                       String toc) {
+}
@@ -0,0 +1,48 @@
+package com.example.instructions.repo;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Хранилище read-model опубликованных статей.
+ */
+public interface PublishedArticleRepository {
+
+    /**
+     * @param slug слаг статьи
+     * @return документ статьи или пусто
+     */
+    Optional<PublishedArticleDocument> findBySlug(String slug);
+
+    /**
+     * @param articleId идентификатор статьи
+     * @return документ статьи или пусто
+     */
+    Optional<PublishedArticleDocument> findByArticleId(UUID articleId);
+
+    /**
+     * Читает только оглавление, без документа статьи.
+     *
+     * @param articleId идентификатор статьи
+     * @return JSON оглавления или пусто
+     */
+    Optional<String> findTocByArticleId(UUID articleId);
+
+    /**
+     * Сохраняет документ статьи, заменяя прежний документ той же статьи (в том числе под старым слагом).
+     *
+     * @param document документ
+     */
+    void save(PublishedArticleDocument document);
+
+    /**
+     * @param articleId идентификатор статьи
+     */
+    void deleteByArticleId(UUID articleId);
+
+    /**
+     * @return опубликованные статьи, для которых ещё нет документа
+     */
+    List<UUID> findMissingArticleIds();
+}
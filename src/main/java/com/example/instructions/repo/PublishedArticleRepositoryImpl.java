@@ -0,0 +1,108 @@
+package com.example.instructions.repo;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Реализация read-model опубликованных статей на нативном SQL.
+ */
+@Repository
+@Timed("app.db.query")
+public class PublishedArticleRepositoryImpl implements PublishedArticleRepository {
+
+    private static final String SELECT =
+            "SELECT slug, article_id, version, updated_at, document::text AS document, toc::text AS toc "
+                    + "FROM published_article ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<PublishedArticleDocument> findBySlug(String slug) {
+        return findOne(SELECT + "WHERE slug = :key", slug);
+    }
+
+    @Override
+    public Optional<PublishedArticleDocument> findByArticleId(UUID articleId) {
+        return findOne(SELECT + "WHERE article_id = :key", articleId);
+    }
+
+    @Override
+    public Optional<String> findTocByArticleId(UUID articleId) {
+        @SuppressWarnings("unchecked")
+        List<String> rows = entityManager.createNativeQuery(
+                        "SELECT toc::text AS toc FROM published_article WHERE article_id = :articleId")
+                .setParameter("articleId", articleId)
+                .unwrap(NativeQuery.class)
+                .addScalar("toc", String.class)
+                .getResultList();
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void save(PublishedArticleDocument document) {
+        deleteByArticleId(document.articleId());
+        entityManager.createNativeQuery("INSERT INTO published_article "
+                        + "(slug, article_id, version, updated_at, document, toc) "
+                        + "VALUES (:slug, :articleId, :version, :updatedAt, CAST(:document AS jsonb), CAST(:toc AS jsonb))")
+                .setParameter("slug", document.slug())
+                .setParameter("articleId", document.articleId())
+                .setParameter("version", document.version())
+                .setParameter("updatedAt", document.updatedAt())
+                .setParameter("document", document.document())
+                .setParameter("toc", document.toc())
+                .executeUpdate();
+    }
+
+    @Override
+    public void deleteByArticleId(UUID articleId) {
+        entityManager.createNativeQuery("DELETE FROM published_article WHERE article_id = :articleId")
+                .setParameter("articleId", articleId)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<UUID> findMissingArticleIds() {
+        @SuppressWarnings("unchecked")
+        List<UUID> ids = entityManager.createNativeQuery("SELECT a.id FROM article a "
+                        + "WHERE a.status = 'PUBLISHED' "
+                        + "AND NOT EXISTS (SELECT 1 FROM published_article p WHERE p.article_id = a.id)")
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .getResultList();
+        return ids;
+    }
+
+    private Optional<PublishedArticleDocument> findOne(String sql, Object key) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("key", key)
+                .unwrap(NativeQuery.class)
+                .addScalar("slug", String.class)
+                .addScalar("article_id", UUID.class)
+                .addScalar("version", Integer.class)
+                .addScalar("updated_at", OffsetDateTime.class)
+                .addScalar("document", String.class)
+                .addScalar("toc", String.class)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        return Optional.of(new PublishedArticleDocument(
+                (String) row[0],
+                (UUID) row[1],
+                (Integer) row[2],
+                (OffsetDateTime) row[3],
+                (String) row[4],
+                (String) row[5]
+        ));
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.instructions.repo;
 
+import com.example.instructions.domain.ArticleStatus;
 import com.example.instructions.domain.Section;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Репозиторий секций.
@@ -11,4 +19,52 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface SectionRepository extends JpaRepository<Section, UUID> {
 
     List<Section> findByChapterIdOrderByOrderIndexAsc(UUID chapterId);
+
+    @Query("""
+        select s
+        from Section s
+        join s.chapter c
+        join c.article a
+        where a.id = :articleId and a.status = :status and c.id = :chapterId
+        order by s.orderIndex, s.id
+    """)
+    List<Section> findByArticleAndChapter(@Param("articleId") UUID articleId,
+                                          @Param("chapterId") UUID chapterId,
+                                          @Param("status") ArticleStatus status);
+
+    /**
+     * Секции статьи в порядке оглавления, страницами.
+     */
+    @Query("""
+        select s
+        from Section s
+        join s.chapter c
+        join c.article a
+        where a.id = :articleId and a.status = :status
+        order by c.orderIndex, c.id, s.orderIndex, s.id
+    """)
+    List<Section> findByArticle(@Param("articleId") UUID articleId,
+                                @Param("status") ArticleStatus status,
+                                Pageable pageable);
+
+    @Query("""
+        select new com.example.instructions.repo.SitemapEntry(s.id, a.id, a.slug, a.updatedAt)
+        from Section s
+        join s.chapter c
+        join c.article a
+        where a.status = :status
+        order by a.slug, c.orderIndex, s.orderIndex
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SitemapEntry> streamSitemapEntries(@Param("status") ArticleStatus status);
+
+    @Query("""
+        select new com.example.instructions.repo.SitemapEntry(s.id, a.id, a.slug, a.updatedAt)
+        from Section s
+        join s.chapter c
+        join c.article a
+        where a.id = :articleId and a.status = :status
+    """)
+    List<SitemapEntry> findSitemapEntriesByArticleId(@Param("articleId") UUID articleId,
+                                                     @Param("status") ArticleStatus status);
 }
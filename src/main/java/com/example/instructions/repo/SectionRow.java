@@ -0,0 +1,23 @@
+package com.example.instructions.repo;
+
+import java.util.UUID;
+
+/**
+ * Секция вместе с её главой в порядке статьи. У главы без секций поля секции пусты.
+ *
+ * @param chapterId         идентификатор главы
+ * @param chapterTitle      заголовок главы
+ * @param chapterOrderIndex порядок главы
+ * @param sectionId         идентификатор секции
+ * @param sectionTitle      заголовок секции
+ * @param sectionOrderIndex порядок секции
+ * @param markdown          текст секции
+ */
+public record SectionRow(UUID chapterId,
+                         String chapterTitle,
+                         int chapterOrderIndex,
+                         UUID sectionId,
+                         String sectionTitle,
+                         int sectionOrderIndex,
+                         String markdown) {
+}
@@ -0,0 +1,22 @@
+package com.example.instructions.repo;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Строка sitemap: идентификатор страницы, слаг для адреса и время последнего изменения.
+ *
+ * @param id        идентификатор статьи, секции или тега
+ * @param articleId статья, к которой относится страница, или {@code null} для тегов
+ * @param slug      слаг статьи (для секций — слаг статьи, которой они принадлежат) или тега
+ * @param updatedAt время последнего изменения
+ */
+public record SitemapEntry(UUID id, UUID articleId, String slug, OffsetDateTime updatedAt) {
+
+    /**
+     * Строка страницы, не привязанной к статье.
+     */
+    public SitemapEntry(UUID id, String slug, OffsetDateTime updatedAt) {
+        this(id, null, slug, updatedAt);
+    }
+}
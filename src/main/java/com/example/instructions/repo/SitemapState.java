@@ -0,0 +1,12 @@
+package com.example.instructions.repo;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Состояние сохранённого sitemap (таблица {@code sitemap_state}).
+ *
+ * @param fingerprint отпечаток настроек адресов, с которыми строилась таблица {@code sitemap_url}
+ * @param syncedAt    время последней записи; статьи, изменённые позже, догоняются при старте
+ */
+public record SitemapState(String fingerprint, OffsetDateTime syncedAt) {
+}
@@ -0,0 +1,86 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.sitemap.SitemapUrl;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Хранилище адресов sitemap с закреплёнными шардами (таблица {@code sitemap_url}).
+ */
+public interface SitemapUrlRepository {
+
+    /**
+     * Берёт транзакционную advisory-блокировку sitemap: запись в таблицы sitemap идёт по одной транзакции.
+     */
+    void lock();
+
+    /**
+     * @return все адреса, упорядоченные по шарду и {@code loc}; поток нужно закрыть
+     */
+    Stream<SitemapUrl> streamAll();
+
+    /**
+     * @return состояние сохранённого sitemap или пусто, если его ещё не строили
+     */
+    Optional<SitemapState> findState();
+
+    /**
+     * Сохраняет состояние sitemap.
+     *
+     * @param state отпечаток настроек и время записи
+     */
+    void saveState(SitemapState state);
+
+    /**
+     * Удаляет все адреса.
+     */
+    void deleteAll();
+
+    /**
+     * Вставляет адреса или обновляет существующие по {@code loc}.
+     *
+     * @param urls адреса
+     */
+    void saveAll(Collection<SitemapUrl> urls);
+
+    /**
+     * Удаляет адреса.
+     *
+     * @param locs адреса
+     */
+    void deleteByLocIn(Collection<String> locs);
+
+    List<SitemapUrl> findByArticleId(UUID articleId);
+
+    /**
+     * Возвращает сохранённые адреса из списка.
+     *
+     * @param locs адреса
+     * @return найденные строки
+     */
+    List<SitemapUrl> findByLocIn(Collection<String> locs);
+
+    /**
+     * Теги статьи, запомненные при последнем обновлении sitemap.
+     *
+     * @param articleId идентификатор статьи
+     * @return идентификаторы тегов
+     */
+    List<UUID> findTagIdsByArticleId(UUID articleId);
+
+    /**
+     * Запоминает текущие теги статьи, если она опубликована, иначе забывает их.
+     *
+     * @param articleId идентификатор статьи
+     * @return текущие теги опубликованной статьи
+     */
+    List<UUID> snapshotArticleTags(UUID articleId);
+
+    /**
+     * Заново запоминает теги всех опубликованных статей.
+     */
+    void snapshotAllArticleTags();
+}
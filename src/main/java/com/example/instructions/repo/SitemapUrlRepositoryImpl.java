@@ -0,0 +1,209 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.sitemap.SitemapUrl;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Реализация хранилища адресов sitemap на нативном SQL.
+ */
+@Repository
+@Timed("app.db.query")
+public class SitemapUrlRepositoryImpl implements SitemapUrlRepository {
+
+    private static final String COLUMNS = "loc, kind, article_id, lastmod, shard";
+
+    /** Сколько строк читать за один проход курсора при восстановлении шардов. */
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    /** Сколько строк вставлять одним многострочным INSERT. */
+    private static final int INSERT_CHUNK = 200;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void lock() {
+        entityManager.createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(hashtext('sitemap'))").getSingleResult();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<SitemapUrl> streamAll() {
+        Stream<Object[]> rows = withScalars(entityManager.createNativeQuery(
+                        "SELECT " + COLUMNS + " FROM sitemap_url ORDER BY shard, loc"))
+                .setFetchSize(STREAM_FETCH_SIZE)
+                .getResultStream();
+        return rows.map(SitemapUrlRepositoryImpl::toUrl);
+    }
+
+    @Override
+    public Optional<SitemapState> findState() {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT fingerprint, synced_at FROM sitemap_state WHERE id = 1")
+                .unwrap(NativeQuery.class)
+                .addScalar("fingerprint", String.class)
+                .addScalar("synced_at", OffsetDateTime.class)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> new SitemapState((String) row[0], (OffsetDateTime) row[1]));
+    }
+
+    @Override
+    public void saveState(SitemapState state) {
+        entityManager.createNativeQuery("INSERT INTO sitemap_state (id, fingerprint, synced_at) "
+                        + "VALUES (1, :fingerprint, :syncedAt) "
+                        + "ON CONFLICT (id) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, "
+                        + "synced_at = EXCLUDED.synced_at")
+                .setParameter("fingerprint", state.fingerprint())
+                .setParameter("syncedAt", state.syncedAt())
+                .executeUpdate();
+    }
+
+    @Override
+    public void deleteAll() {
+        entityManager.createNativeQuery("DELETE FROM sitemap_url").executeUpdate();
+    }
+
+    @Override
+    public void saveAll(Collection<SitemapUrl> urls) {
+        List<SitemapUrl> chunk = new ArrayList<>(INSERT_CHUNK);
+        for (SitemapUrl url : urls) {
+            chunk.add(url);
+            if (chunk.size() == INSERT_CHUNK) {
+                upsert(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            upsert(chunk);
+        }
+    }
+
+    @Override
+    public void deleteByLocIn(Collection<String> locs) {
+        if (locs.isEmpty()) {
+            return;
+        }
+        entityManager.createNativeQuery("DELETE FROM sitemap_url WHERE loc IN (:locs)")
+                .setParameter("locs", locs)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<SitemapUrl> findByArticleId(UUID articleId) {
+        return toUrls(entityManager.createNativeQuery(
+                        "SELECT " + COLUMNS + " FROM sitemap_url WHERE article_id = :articleId")
+                .setParameter("articleId", articleId));
+    }
+
+    @Override
+    public List<SitemapUrl> findByLocIn(Collection<String> locs) {
+        if (locs.isEmpty()) {
+            return List.of();
+        }
+        return toUrls(entityManager.createNativeQuery("SELECT " + COLUMNS + " FROM sitemap_url WHERE loc IN (:locs)")
+                .setParameter("locs", locs));
+    }
+
+    @Override
+    public List<UUID> findTagIdsByArticleId(UUID articleId) {
+        @SuppressWarnings("unchecked")
+        List<UUID> ids = entityManager.createNativeQuery(
+                        "SELECT tag_id FROM sitemap_article_tag WHERE article_id = :articleId")
+                .setParameter("articleId", articleId)
+                .unwrap(NativeQuery.class)
+                .addScalar("tag_id", UUID.class)
+                .getResultList();
+        return ids;
+    }
+
+    @Override
+    public List<UUID> snapshotArticleTags(UUID articleId) {
+        entityManager.createNativeQuery("DELETE FROM sitemap_article_tag WHERE article_id = :articleId")
+                .setParameter("articleId", articleId)
+                .executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO sitemap_article_tag (article_id, tag_id) "
+                        + "SELECT at.article_id, at.tag_id FROM article_tag at "
+                        + "JOIN article a ON a.id = at.article_id "
+                        + "WHERE at.article_id = :articleId AND a.status = 'PUBLISHED'")
+                .setParameter("articleId", articleId)
+                .executeUpdate();
+        return findTagIdsByArticleId(articleId);
+    }
+
+    @Override
+    public void snapshotAllArticleTags() {
+        entityManager.createNativeQuery("DELETE FROM sitemap_article_tag").executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO sitemap_article_tag (article_id, tag_id) "
+                        + "SELECT at.article_id, at.tag_id FROM article_tag at "
+                        + "JOIN article a ON a.id = at.article_id "
+                        + "WHERE a.status = 'PUBLISHED'")
+                .executeUpdate();
+    }
+
+    private void upsert(List<SitemapUrl> urls) {
+        StringBuilder sql = new StringBuilder("INSERT INTO sitemap_url (" + COLUMNS + ") VALUES ");
+        for (int i = 0; i < urls.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:loc").append(i).append(", :kind").append(i).append(", :articleId").append(i)
+                    .append(", :lastmod").append(i).append(", :shard").append(i).append(')');
+        }
+        sql.append(" ON CONFLICT (loc) DO UPDATE SET kind = EXCLUDED.kind, article_id = EXCLUDED.article_id, "
+                + "lastmod = EXCLUDED.lastmod, shard = EXCLUDED.shard");
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object> query = entityManager.createNativeQuery(sql.toString()).unwrap(NativeQuery.class);
+        for (int i = 0; i < urls.size(); i++) {
+            SitemapUrl url = urls.get(i);
+            query.setParameter("loc" + i, url.loc());
+            query.setParameter("kind" + i, url.kind().name());
+            query.setParameter("articleId" + i, url.articleId(), UUID.class);
+            query.setParameter("lastmod" + i, url.lastmod(), OffsetDateTime.class);
+            query.setParameter("shard" + i, url.shard());
+        }
+        query.executeUpdate();
+    }
+
+    private List<SitemapUrl> toUrls(Query nativeQuery) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = withScalars(nativeQuery).getResultList();
+        List<SitemapUrl> urls = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            urls.add(toUrl(row));
+        }
+        return urls;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NativeQuery<Object[]> withScalars(Query nativeQuery) {
+        return nativeQuery.unwrap(NativeQuery.class)
+                .addScalar("loc", String.class)
+                .addScalar("kind", String.class)
+                .addScalar("article_id", UUID.class)
+                .addScalar("lastmod", OffsetDateTime.class)
+                .addScalar("shard", Integer.class);
+    }
+
+    private static SitemapUrl toUrl(Object[] row) {
+        return new SitemapUrl(
+                (String) row[0],
+                SitemapUrl.Kind.valueOf((String) row[1]),
+                (UUID) row[2],
+                (OffsetDateTime) row[3],
+                (Integer) row[4]
+        );
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.instructions.repo;
 
+import com.example.instructions.domain.ArticleStatus;
 import com.example.instructions.domain.Tag;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Репозиторий тегов.
@@ -13,4 +22,31 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
     Optional<Tag> findBySlug(String slug);
 
     boolean existsBySlug(String slug);
+
+    /**
+     * Теги, у которых есть опубликованные статьи; дата изменения — самая свежая из статей тега.
+     */
+    @Query("""
+        select new com.example.instructions.repo.SitemapEntry(t.id, t.slug, max(a.updatedAt))
+        from Article a
+        join a.tagEntities t
+        where a.status = :status
+        group by t.id, t.slug
+        order by t.slug
+    """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<SitemapEntry> streamSitemapEntries(@Param("status") ArticleStatus status);
+
+    /**
+     * То же, что {@link #streamSitemapEntries}, только для перечисленных тегов.
+     */
+    @Query("""
+        select new com.example.instructions.repo.SitemapEntry(t.id, t.slug, max(a.updatedAt))
+        from Article a
+        join a.tagEntities t
+        where a.status = :status and t.id in :ids
+        group by t.id, t.slug
+    """)
+    List<SitemapEntry> findSitemapEntriesByIds(@Param("ids") Collection<UUID> ids,
+                                               @Param("status") ArticleStatus status);
 }
@@ -0,0 +1,21 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.ArticleStatus;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Чтение оглавления статьи без загрузки текста секций.
+ */
+public interface TocRepository {
+
+    /**
+     * Возвращает строки оглавления в порядке глав и секций.
+     * Для существующей статьи результат содержит хотя бы одну строку.
+     *
+     * @param articleId идентификатор статьи
+     * @param status    статус статьи
+     * @return строки оглавления или пустой список, если статьи с таким статусом нет
+     */
+    List<TocRow> findTocRows(UUID articleId, ArticleStatus status);
+}
@@ -0,0 +1,57 @@
+package com.example.instructions.repo;
+
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.metrics.ResultSizeMetrics;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Оглавление одним нативным запросом по индексам {@code (article_id, order_index)} и
+ * {@code (chapter_id, order_index)}: выбираются только идентификаторы и заголовки.
+ */
+@Repository
+@Timed("app.db.query")
+@RequiredArgsConstructor
+public class TocRepositoryImpl implements TocRepository {
+
+    private static final String SQL = """
+            SELECT c.id AS chapter_id, c.title AS chapter_title, s.id AS section_id, s.title AS section_title
+            FROM article a
+            LEFT JOIN chapter c ON c.article_id = a.id
+            LEFT JOIN section s ON s.chapter_id = c.id
+            WHERE a.id = :articleId AND a.status = :status
+            ORDER BY c.order_index, c.id, s.order_index, s.id
+            """;
+
+    private final ResultSizeMetrics resultSizeMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TocRow> findTocRows(UUID articleId, ArticleStatus status) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(SQL)
+                .setParameter("articleId", articleId)
+                .setParameter("status", status.name())
+                .unwrap(NativeQuery.class)
+                .addScalar("chapter_id", UUID.class)
+                .addScalar("chapter_title", String.class)
+                .addScalar("section_id", UUID.class)
+                .addScalar("section_title", String.class)
+                .getResultList();
+        List<TocRow> toc = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            toc.add(new TocRow((UUID) row[0], (String) row[1], (UUID) row[2], (String) row[3]));
+        }
+        resultSizeMetrics.rows("toc", toc.size());
+        return toc;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.instructions.repo;
+
+import java.util.UUID;
+
+/**
+ * Строка оглавления: глава и одна её секция. У статьи без глав обе части пусты,
+ * у главы без секций — пуста секция.
+ *
+ * @param chapterId    идентификатор главы
+ * @param chapterTitle заголовок главы
+ * @param sectionId    идентификатор секции
+ * @param sectionTitle заголовок секции
+ */
+public record TocRow(UUID chapterId,
+                     String chapterTitle,
+                     UUID sectionId,
+                     String sectionTitle) {
+}
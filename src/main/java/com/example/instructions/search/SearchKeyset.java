@@ -0,0 +1,41 @@
+package com.example.instructions.search;
+
+import com.example.instructions.common.BadRequestException;
+import com.example.instructions.common.CursorCodec;
+import java.util.UUID;
+
+/**
+ * Позиция в результатах поиска, отсортированных по {@code (rank DESC, title ASC, id ASC)}.
+ *
+ * @param rank  ранг последнего выданного результата (PostgreSQL {@code real})
+ * @param title заголовок последнего выданного результата
+ * @param id    идентификатор последнего выданного результата
+ */
+public record SearchKeyset(float rank, String title, UUID id) {
+
+    private static final String TYPE = "search";
+
+    /**
+     * @param cursor курсор из запроса; пустая строка означает первую страницу
+     * @return позиция или {@code null} для первой страницы
+     */
+    public static SearchKeyset fromCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] values = CursorCodec.decode(cursor, TYPE, 3);
+        try {
+            return new SearchKeyset(Float.parseFloat(values[0]), values[1], UUID.fromString(values[2]));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+    }
+
+    public static SearchKeyset of(SearchResultProjection projection) {
+        return new SearchKeyset((float) projection.getRank(), projection.getTitle(), projection.getId());
+    }
+
+    public String toCursor() {
+        return CursorCodec.encode(TYPE, Float.toString(rank), title, id.toString());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.instructions.search;
 
+import java.util.List;
+import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,4 +11,22 @@ import org.springframework.data.domain.Pageable;
 public interface SearchRepository {
 
     Page<SearchResultProjection> search(String query, Pageable pageable);
+
+    /**
+     * Возвращает результаты поиска после заданной позиции без подсчёта общего количества.
+     *
+     * @param query текст запроса
+     * @param after позиция последнего выданного результата или {@code null} для первой страницы
+     * @param limit максимальное число результатов
+     * @return результаты страницы
+     */
+    List<SearchResultProjection> searchAfter(String query, SearchKeyset after, int limit);
+
+    /**
+     * Возвращает заголовки опубликованных статей и их секций для индекса подсказок.
+     *
+     * @param articleId идентификатор статьи или {@code null} для всех опубликованных статей
+     * @return заголовки; пусто, если статья не опубликована
+     */
+    List<SuggestSource> findSuggestSources(UUID articleId);
 }
@@ -1,11 +1,16 @@
 package com.example.instructions.search;
 
+import com.example.instructions.metrics.ResultSizeMetrics;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -15,8 +20,63 @@ import org.springframework.stereotype.Repository;
  * Реализация репозитория поиска с использованием PostgreSQL tsvector.
  */
 @Repository
+@Timed("app.db.query")
+@RequiredArgsConstructor
 public class SearchRepositoryImpl implements SearchRepository {
 
+    /** Сколько символов markdown отдавать до первого вхождения первой лексемы запроса. */
+    private static final int SNIPPET_WINDOW_BEFORE = 100;
+
+    /** Длина окна markdown, которое секция отдаёт для построения фрагмента. */
+    private static final int SNIPPET_WINDOW_LENGTH = 1000;
+
+    private static final String COMBINED_FROM =
+            "FROM ("
+                    + "SELECT 'article' AS type, a.id, a.title, NULL AS markdown, a.slug, "
+                    + "ts_rank_cd(a.search_vector, sq.q) AS rank "
+                    + "FROM article a, search_query sq "
+                    + "WHERE a.status = 'PUBLISHED' AND a.search_vector @@ sq.q "
+                    + "UNION ALL "
+                    + "SELECT 'section' AS type, s.id, s.title, "
+                    + "substr(s.markdown, greatest(1, strpos(lower(s.markdown), :anchor) - " + SNIPPET_WINDOW_BEFORE + "), "
+                    + SNIPPET_WINDOW_LENGTH + ") AS markdown, a.slug, "
+                    + "ts_rank_cd(s.search_vector, sq.q) AS rank "
+                    + "FROM section s "
+                    + "JOIN chapter c ON s.chapter_id = c.id "
+                    + "JOIN article a ON c.article_id = a.id, search_query sq "
+                    + "WHERE a.status = 'PUBLISHED' AND s.search_vector @@ sq.q"
+                    + ") AS combined ";
+
+    private static final String SEARCH_QUERY_CTE =
+            "WITH search_query AS (SELECT plainto_tsquery('simple', :query) AS q) ";
+
+    private static final String COMBINED_SELECT =
+            SEARCH_QUERY_CTE + "SELECT type, id, title, markdown, slug, rank " + COMBINED_FROM;
+
+    /**
+     * Страница вместе с общим числом совпадений: {@code count(*) OVER ()} считается по всему
+     * результату до применения OFFSET/LIMIT, поэтому UNION ALL выполняется один раз.
+     */
+    private static final String COMBINED_SELECT_WITH_TOTAL =
+            SEARCH_QUERY_CTE + "SELECT type, id, title, markdown, slug, rank, count(*) OVER () AS total " + COMBINED_FROM;
+
+    private static final String COUNT_SQL = SEARCH_QUERY_CTE + "SELECT count(*) " + COMBINED_FROM;
+
+    private static final String SUGGEST_ARTICLES =
+            "SELECT 'article' AS type, a.id, a.id AS article_id, a.title, a.slug "
+                    + "FROM article a WHERE a.status = 'PUBLISHED'";
+
+    private static final String SUGGEST_SECTIONS =
+            "SELECT 'section' AS type, s.id, a.id AS article_id, s.title, a.slug "
+                    + "FROM section s "
+                    + "JOIN chapter c ON s.chapter_id = c.id "
+                    + "JOIN article a ON c.article_id = a.id "
+                    + "WHERE a.status = 'PUBLISHED'";
+
+    private static final String ORDER_BY = "ORDER BY rank DESC, title ASC, id ASC";
+
+    private final ResultSizeMetrics resultSizeMetrics;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -26,57 +86,100 @@ public class SearchRepositoryImpl implements SearchRepository {
         if (sanitized.isEmpty()) {
             return Page.empty(pageable);
         }
-        String baseSelect =
-                "WITH search_query AS (SELECT plainto_tsquery('simple', :query) AS q) "
-                        + "SELECT type, id, title, markdown, slug, rank FROM ("
-                        + "SELECT 'article' AS type, a.id, a.title, NULL AS markdown, a.slug, "
-                        + "ts_rank_cd(a.search_vector, sq.q) AS rank "
-                        + "FROM article a, search_query sq "
-                        + "WHERE a.status = 'PUBLISHED' AND a.search_vector @@ sq.q "
-                        + "UNION ALL "
-                        + "SELECT 'section' AS type, s.id, s.title, s.markdown, a.slug, "
-                        + "ts_rank_cd(s.search_vector, sq.q) AS rank "
-                        + "FROM section s "
-                        + "JOIN chapter c ON s.chapter_id = c.id "
-                        + "JOIN article a ON c.article_id = a.id, search_query sq "
-                        + "WHERE a.status = 'PUBLISHED' AND s.search_vector @@ sq.q"
-                        + ") AS combined ORDER BY rank DESC, title ASC";
-
-        Query nativeQuery = entityManager.createNativeQuery(baseSelect)
+        Query nativeQuery = entityManager.createNativeQuery(COMBINED_SELECT_WITH_TOTAL + ORDER_BY)
                 .setParameter("query", sanitized)
+                .setParameter("anchor", anchor(sanitized))
                 .setFirstResult((int) pageable.getOffset())
                 .setMaxResults(pageable.getPageSize());
 
         @SuppressWarnings("unchecked")
         List<Object[]> rows = nativeQuery.getResultList();
+        List<SearchResultProjection> projections = toProjections(rows);
+        resultSizeMetrics.rows("search", rows.size());
+
+        long total;
+        if (!rows.isEmpty()) {
+            total = ((Number) rows.get(0)[6]).longValue();
+        } else if (pageable.getOffset() == 0) {
+            total = 0;
+        } else {
+            // Страница за пределами результата: общее число из окна не получить, считаем отдельно.
+            total = ((Number) entityManager.createNativeQuery(COUNT_SQL)
+                    .setParameter("query", sanitized)
+                    .setParameter("anchor", anchor(sanitized))
+                    .getSingleResult()).longValue();
+        }
+        return new PageImpl<>(projections, pageable, total);
+    }
+
+    @Override
+    public List<SearchResultProjection> searchAfter(String query, SearchKeyset after, int limit) {
+        String sanitized = Objects.requireNonNullElse(query, "").trim();
+        if (sanitized.isEmpty()) {
+            return List.of();
+        }
+        String keysetFilter = after == null ? "" :
+                "WHERE rank < :afterRank OR (rank = :afterRank "
+                        + "AND (title > :afterTitle OR (title = :afterTitle AND id > :afterId))) ";
+        Query nativeQuery = entityManager.createNativeQuery(COMBINED_SELECT + keysetFilter + ORDER_BY + " LIMIT :limit")
+                .setParameter("query", sanitized)
+                .setParameter("anchor", anchor(sanitized))
+                .setParameter("limit", limit);
+        if (after != null) {
+            nativeQuery.setParameter("afterRank", after.rank())
+                    .setParameter("afterTitle", after.title())
+                    .setParameter("afterId", after.id());
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        resultSizeMetrics.rows("search_after", rows.size());
+        return toProjections(rows);
+    }
+
+    @Override
+    public List<SuggestSource> findSuggestSources(UUID articleId) {
+        String articleFilter = articleId == null ? "" : " AND a.id = :articleId";
+        Query nativeQuery = entityManager.createNativeQuery(
+                SUGGEST_ARTICLES + articleFilter + " UNION ALL " + SUGGEST_SECTIONS + articleFilter);
+        if (articleId != null) {
+            nativeQuery.setParameter("articleId", articleId);
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = nativeQuery.getResultList();
+        resultSizeMetrics.rows("suggest_sources", rows.size());
+        List<SuggestSource> sources = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            sources.add(new SuggestSource(
+                    (String) row[0],
+                    UUID.fromString(row[1].toString()),
+                    UUID.fromString(row[2].toString()),
+                    (String) row[3],
+                    (String) row[4]
+            ));
+        }
+        return sources;
+    }
+
+    /**
+     * Первая лексема запроса, вокруг которой вырезается окно markdown для фрагмента.
+     */
+    private static String anchor(String query) {
+        List<String> terms = SnippetBuilder.terms(query);
+        return terms.isEmpty() ? query.toLowerCase(Locale.ROOT) : terms.get(0);
+    }
+
+    private List<SearchResultProjection> toProjections(List<Object[]> rows) {
         List<SearchResultProjection> projections = new ArrayList<>();
         for (Object[] row : rows) {
             projections.add(new SearchResultProjection(
                     (String) row[0],
-                    java.util.UUID.fromString(row[1].toString()),
+                    UUID.fromString(row[1].toString()),
                     (String) row[2],
                     (String) row[3],
                     (String) row[4],
                     ((Number) row[5]).doubleValue()
             ));
         }
-
-        String countSql =
-                "WITH search_query AS (SELECT plainto_tsquery('simple', :query) AS q) "
-                        + "SELECT COUNT(1) FROM ("
-                        + "SELECT a.id FROM article a, search_query sq "
-                        + "WHERE a.status = 'PUBLISHED' AND a.search_vector @@ sq.q "
-                        + "UNION ALL "
-                        + "SELECT s.id FROM section s "
-                        + "JOIN chapter c ON s.chapter_id = c.id "
-                        + "JOIN article a ON c.article_id = a.id, search_query sq "
-                        + "WHERE a.status = 'PUBLISHED' AND s.search_vector @@ sq.q"
-                        + ") AS counted";
-
-        Number total = (Number) entityManager.createNativeQuery(countSql)
-                .setParameter("query", sanitized)
-                .getSingleResult();
-
-        return new PageImpl<>(projections, pageable, total.longValue());
+        return projections;
     }
 }
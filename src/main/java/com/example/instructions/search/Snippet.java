@@ -0,0 +1,21 @@
+package com.example.instructions.search;
+
+import java.util.List;
+
+/**
+ * Фрагмент текста для выдачи поиска.
+ *
+ * @param text       текст фрагмента без markdown-разметки
+ * @param highlights позиции совпавших слов запроса в {@code text}
+ */
+public record Snippet(String text, List<Highlight> highlights) {
+
+    /**
+     * Совпавшее слово: полуинтервал {@code [start, end)} в тексте фрагмента.
+     *
+     * @param start начало слова
+     * @param end   позиция после конца слова
+     */
+    public record Highlight(int start, int end) {
+    }
+}
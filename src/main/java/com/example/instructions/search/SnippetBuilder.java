@@ -0,0 +1,149 @@
+package com.example.instructions.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Построитель фрагментов выдачи поиска за один проход по тексту.
+ * <p>
+ * За проход markdown-символы и пробелы схлопываются в одиночный пробел, текст делится на слова,
+ * и каждое слово сравнивается с лексемами запроса без выделения промежуточных строк.
+ * Конфигурация {@code simple} в PostgreSQL не выполняет стемминг,
+ * поэтому совпадением считается равенство слова лексеме без учёта регистра.
+ * Проход останавливается, как только набран фрагмент вокруг первого совпадения.
+ */
+public final class SnippetBuilder {
+
+    /** Максимальная длина фрагмента без учёта многоточия. */
+    public static final int MAX_LENGTH = 200;
+
+    /** Сколько символов контекста оставлять перед первым совпадением. */
+    static final int CONTEXT_BEFORE = 60;
+
+    private static final String ELLIPSIS = "...";
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SnippetBuilder() {
+    }
+
+    /**
+     * Разбивает запрос на лексемы в нижнем регистре.
+     *
+     * @param query текст запроса
+     * @return лексемы запроса
+     */
+    public static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(query.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !terms.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Строит фрагмент вокруг первого совпадения и подсвечивает в нём все совпавшие лексемы.
+     *
+     * @param raw   исходный markdown или заголовок
+     * @param terms лексемы запроса в нижнем регистре
+     * @return фрагмент с позициями подсветки
+     */
+    public static Snippet build(String raw, List<String> terms) {
+        int length = raw.length();
+        StringBuilder out = new StringBuilder(Math.min(length, 2 * MAX_LENGTH));
+        List<Snippet.Highlight> matches = new ArrayList<>();
+        boolean pendingSpace = false;
+        boolean truncated = false;
+        int wordStart = -1;
+        int stopAt = Integer.MAX_VALUE;
+
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+            if (isMarkdown(c) || Character.isWhitespace(c)) {
+                wordStart = endWord(out, wordStart, terms, matches);
+                pendingSpace = out.length() > 0;
+            } else {
+                if (out.length() >= stopAt) {
+                    truncated = true;
+                    break;
+                }
+                if (pendingSpace) {
+                    out.append(' ');
+                    pendingSpace = false;
+                }
+                if (Character.isLetterOrDigit(c)) {
+                    if (wordStart < 0) {
+                        wordStart = out.length();
+                    }
+                } else {
+                    wordStart = endWord(out, wordStart, terms, matches);
+                }
+                out.append(c);
+            }
+            if (stopAt == Integer.MAX_VALUE && !matches.isEmpty()) {
+                stopAt = Math.max(0, matches.get(0).start() - CONTEXT_BEFORE) + MAX_LENGTH;
+            }
+        }
+        if (!truncated) {
+            endWord(out, wordStart, terms, matches);
+        }
+        return cut(out, matches, truncated);
+    }
+
+    private static Snippet cut(StringBuilder out, List<Snippet.Highlight> matches, boolean truncated) {
+        int total = out.length();
+        if (!truncated && total <= MAX_LENGTH) {
+            return new Snippet(out.toString(), List.copyOf(matches));
+        }
+        int start = matches.isEmpty() ? 0 : Math.max(0, matches.get(0).start() - CONTEXT_BEFORE);
+        int end = Math.min(total, start + MAX_LENGTH);
+        while (start < end && out.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && out.charAt(end - 1) == ' ') {
+            end--;
+        }
+        List<Snippet.Highlight> highlights = new ArrayList<>();
+        for (Snippet.Highlight match : matches) {
+            if (match.start() >= start && match.end() <= end) {
+                highlights.add(new Snippet.Highlight(match.start() - start, match.end() - start));
+            }
+        }
+        return new Snippet(out.substring(start, end) + ELLIPSIS, highlights);
+    }
+
+    private static int endWord(StringBuilder out, int wordStart, List<String> terms, List<Snippet.Highlight> matches) {
+        if (wordStart >= 0 && matchesAny(out, wordStart, out.length(), terms)) {
+            matches.add(new Snippet.Highlight(wordStart, out.length()));
+        }
+        return -1;
+    }
+
+    private static boolean matchesAny(CharSequence text, int start, int end, List<String> terms) {
+        for (String term : terms) {
+            if (term.length() == end - start && equalsIgnoreCase(text, start, term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equalsIgnoreCase(CharSequence text, int start, String term) {
+        for (int j = 0; j < term.length(); j++) {
+            if (Character.toLowerCase(text.charAt(start + j)) != term.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMarkdown(char c) {
+        return switch (c) {
+            case '#', '*', '_', '`', '>', '[', ']' -> true;
+            default -> false;
+        };
+    }
+}
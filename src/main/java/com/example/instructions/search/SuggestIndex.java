@@ -0,0 +1,240 @@
+package com.example.instructions.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Префиксное дерево слов из заголовков опубликованных статей и секций.
+ * <p>
+ * Каждое слово заголовка ведёт в узел дерева, где хранится ссылка на заголовок вместе с его словами
+ * в нижнем регистре — они разбираются один раз при индексации, а не на каждое нажатие клавиши.
+ * Поиск по префиксу обходит всё поддерево, проверяет остальные слова запроса и держит только
+ * {@code limit} лучших по релевантности подсказок, поэтому ранжирование не зависит от порядка обхода.
+ * Чтения идут параллельно под read-lock; замена заголовков статьи выполняется под write-lock.
+ */
+public class SuggestIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<SuggestSource> RELEVANCE = Comparator
+            .comparing((SuggestSource source) -> !"article".equals(source.type()))
+            .thenComparingInt(source -> source.title().length())
+            .thenComparing(SuggestSource::title, String.CASE_INSENSITIVE_ORDER);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    private Map<UUID, List<Entry>> byArticle = new HashMap<>();
+
+    /**
+     * Полностью перестраивает индекс.
+     *
+     * @param sources все заголовки опубликованных статей и секций
+     */
+    public void rebuild(List<SuggestSource> sources) {
+        Node newRoot = new Node();
+        Map<UUID, List<Entry>> newByArticle = new HashMap<>();
+        for (SuggestSource source : sources) {
+            Entry entry = Entry.of(source);
+            insert(newRoot, entry);
+            newByArticle.computeIfAbsent(source.articleId(), id -> new ArrayList<>()).add(entry);
+        }
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            byArticle = newByArticle;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Заменяет заголовки одной статьи. Пустой список удаляет статью из индекса.
+     *
+     * @param articleId идентификатор статьи
+     * @param sources   актуальные заголовки статьи и её секций
+     */
+    public void replace(UUID articleId, List<SuggestSource> sources) {
+        lock.writeLock().lock();
+        try {
+            List<Entry> previous = byArticle.remove(articleId);
+            if (previous != null) {
+                previous.forEach(entry -> remove(root, entry));
+            }
+            if (!sources.isEmpty()) {
+                List<Entry> entries = sources.stream().map(Entry::of).toList();
+                entries.forEach(entry -> insert(root, entry));
+                byArticle.put(articleId, entries);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает заголовки, в которых каждое слово запроса является началом какого-либо слова заголовка.
+     *
+     * @param query введённый текст
+     * @param limit максимальное число подсказок
+     * @return подсказки, статьи раньше секций, короткие заголовки раньше длинных
+     */
+    public List<SuggestSource> suggest(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String pivot = tokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        lock.readLock().lock();
+        try {
+            return collect(root, pivot, tokens, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return число проиндексированных статей
+     */
+    public int articleCount() {
+        lock.readLock().lock();
+        try {
+            return byArticle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean matchesAll(Entry entry, List<String> queryTokens) {
+        for (String queryToken : queryTokens) {
+            boolean found = false;
+            for (String titleToken : entry.tokens()) {
+                if (titleToken.startsWith(queryToken)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Обходит поддерево префикса и оставляет {@code limit} лучших заголовков, подходящих под весь запрос.
+     */
+    private static List<SuggestSource> collect(Node root, String prefix, List<String> queryTokens, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null || limit <= 0) {
+            return List.of();
+        }
+        // Куча с худшей подсказкой в вершине: вытесняется, когда находится лучшая.
+        PriorityQueue<SuggestSource> best = new PriorityQueue<>(limit + 1, RELEVANCE.reversed());
+        Set<Entry> seen = new HashSet<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(node);
+        while (!queue.isEmpty()) {
+            Node current = queue.poll();
+            for (Entry entry : current.entries) {
+                if (seen.add(entry) && matchesAll(entry, queryTokens)) {
+                    best.add(entry.source());
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            queue.addAll(current.children.values());
+        }
+        List<SuggestSource> result = new ArrayList<>(best);
+        result.sort(RELEVANCE);
+        return result;
+    }
+
+    private static void insert(Node root, Entry entry) {
+        for (String token : entry.tokens()) {
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+            }
+            node.entries.add(entry);
+        }
+    }
+
+    private static void remove(Node root, Entry entry) {
+        for (String token : entry.tokens()) {
+            removeToken(root, token, 0, entry);
+        }
+    }
+
+    /**
+     * Удаляет ссылку на заголовок из узла слова и обрезает опустевшие ветви.
+     *
+     * @return {@code true}, если узел стал пустым и его можно удалить у родителя
+     */
+    private static boolean removeToken(Node node, String token, int depth, Entry entry) {
+        if (depth == token.length()) {
+            node.entries.remove(entry);
+        } else {
+            Node child = node.children.get(token.charAt(depth));
+            if (child != null && removeToken(child, token, depth + 1, entry)) {
+                node.children.remove(token.charAt(depth));
+            }
+        }
+        return node.entries.isEmpty() && node.children.isEmpty();
+    }
+
+    /**
+     * Заголовок с заранее разобранными словами. Равенство — по самому заголовку.
+     */
+    private record Entry(SuggestSource source, String[] tokens) {
+
+        static Entry of(SuggestSource source) {
+            return new Entry(source, tokenize(source.title()).toArray(String[]::new));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry entry && source.equals(entry.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return source.hashCode();
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private final Set<Entry> entries = new LinkedHashSet<>(2);
+    }
+}
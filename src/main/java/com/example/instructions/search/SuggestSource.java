@@ -0,0 +1,15 @@
+package com.example.instructions.search;
+
+import java.util.UUID;
+
+/**
+ * Заголовок опубликованной статьи или секции для индекса подсказок.
+ *
+ * @param type      {@code article} или {@code section}
+ * @param id        идентификатор статьи или секции
+ * @param articleId идентификатор статьи, к которой относится заголовок
+ * @param title     заголовок
+ * @param slug      слаг статьи
+ */
+public record SuggestSource(String type, UUID id, UUID articleId, String title, String slug) {
+}
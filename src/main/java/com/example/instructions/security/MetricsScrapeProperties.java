@@ -0,0 +1,14 @@
+package com.example.instructions.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Учётная запись Prometheus для HTTP Basic доступа к {@code /actuator/prometheus}.
+ * Без пароля аккаунт не создаётся и метрики доступны только администратору.
+ */
+@ConfigurationProperties(prefix = "app.metrics.scrape")
+public record MetricsScrapeProperties(String username, String password) {
+
+    public static final String DEFAULT_USERNAME = "prometheus";
+    public static final String ROLE = "METRICS";
+}
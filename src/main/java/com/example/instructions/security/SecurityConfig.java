@@ -35,7 +35,7 @@ import com.nimbusds.jose.jwk.source.ImmutableSecret;
  */
 @Configuration
 @EnableMethodSecurity
-@EnableConfigurationProperties({AdminAccountProperties.class, JwtProperties.class})
+@EnableConfigurationProperties({AdminAccountProperties.class, JwtProperties.class, MetricsScrapeProperties.class})
 public class SecurityConfig {
 
     private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
@@ -57,7 +57,13 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/uploads/**").permitAll()
 
                         // Получение статей и поиск — доступно всем
-                        .requestMatchers(HttpMethod.GET, "/api/v1/articles/**", "/api/v1/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/articles/**", "/api/v1/search", "/api/v1/search/suggest").permitAll()
+
+                        // Health открыт; метрики — только аккаунту Prometheus и админу, остальной actuator — только админ
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/prometheus")
+                        .hasAnyRole(MetricsScrapeProperties.ROLE, "ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Создание статей — только админ
                         .requestMatchers(HttpMethod.POST, "/api/v1/articles/**").hasRole("ADMIN")
@@ -118,7 +124,8 @@ public class SecurityConfig {
 
     @Bean
     public InMemoryUserDetailsManager inMemoryUserDetailsManager(PasswordEncoder passwordEncoder,
-                                                                 AdminAccountProperties adminAccountProperties) {
+                                                                 AdminAccountProperties adminAccountProperties,
+                                                                 MetricsScrapeProperties scrapeProperties) {
         String username = StringUtils.hasText(adminAccountProperties.username())
                 ? adminAccountProperties.username()
                 : AdminAccountProperties.DEFAULT_USERNAME;
@@ -133,6 +140,16 @@ public class SecurityConfig {
                 .roles("ADMIN")
                 .build();
 
-        return new InMemoryUserDetailsManager(admin);
+        InMemoryUserDetailsManager manager = new InMemoryUserDetailsManager(admin);
+        if (StringUtils.hasText(scrapeProperties.password())) {
+            String scrapeUsername = StringUtils.hasText(scrapeProperties.username())
+                    ? scrapeProperties.username()
+                    : MetricsScrapeProperties.DEFAULT_USERNAME;
+            manager.createUser(User.withUsername(scrapeUsername)
+                    .password(passwordEncoder.encode(scrapeProperties.password()))
+                    .roles(MetricsScrapeProperties.ROLE)
+                    .build());
+        }
+        return manager;
     }
 }
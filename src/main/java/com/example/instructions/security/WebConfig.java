@@ -29,7 +29,7 @@ public class WebConfig {
                         .allowedOrigins(allowedOrigins.toArray(new String[0]))
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
-                        .exposedHeaders("Authorization", "Content-Type")
+                        .exposedHeaders("Authorization", "Content-Type", "ETag", "Last-Modified")
                         .allowCredentials(true);
             }
         };
@@ -1,6 +1,8 @@
 package com.example.instructions.service;
 
 import com.example.instructions.api.article.dto.ArticleCreateDto;
+import com.example.instructions.api.article.dto.ArticleListField;
+import com.example.instructions.api.article.dto.ArticleListItemDto;
 import com.example.instructions.api.article.dto.ArticleResponseDto;
 import com.example.instructions.api.article.dto.ArticleUpdateDto;
 import com.example.instructions.api.article.mapper.ArticleEditorMapper;
@@ -9,6 +11,9 @@ import com.example.instructions.common.NotFoundException;
 import com.example.instructions.common.PageResponse;
 import com.example.instructions.domain.Article;
 import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.repo.ArticleKeyset;
+import com.example.instructions.repo.ArticleListItem;
+import com.example.instructions.repo.ArticleListRepository;
 import com.example.instructions.repo.ArticleRepository;
 import com.example.instructions.security.AuthenticationFacade;
 import com.example.instructions.utils.SlugResolverService;
@@ -16,6 +21,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +30,7 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -36,10 +43,11 @@ public class ArticleEditorService {
     private static final int MAX_CONTENT_HTML = 2_000_000;
 
     private final ArticleRepository articleRepository;
+    private final ArticleListRepository articleListRepository;
     private final ArticleEditorMapper mapper;
     private final AuthenticationFacade authenticationFacade;
     private final SlugResolverService slugResolverService;
-    private final SitemapService sitemapService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional
@@ -60,12 +68,17 @@ public class ArticleEditorService {
         validateContentHtml(dto.getContentHtml());
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Статья не найдена"));
+        boolean published = article.getStatus() == ArticleStatus.PUBLISHED;
+        String previousSlug = article.getSlug();
         String slug = slugResolverService.resolveSlug(dto.getSlug(), article.getTitle(), article.getId());
         String contentHtml = defaultContentHtml(dto.getContentHtml());
         String[] array = toArray(dto.getTags());
         JsonNode contentJson = defaultContentJson(dto.getContentJson());
         Article toSave = mapper.updateEntity(article, dto, slug, array, contentHtml, contentJson);
         Article saved = articleRepository.save(toSave);
+        if (published) {
+            eventPublisher.publishEvent(PublishedArticleChangedEvent.of(saved.getId(), previousSlug, saved.getSlug()));
+        }
         return mapper.toDto(saved);
     }
 
@@ -73,10 +86,11 @@ public class ArticleEditorService {
     public ArticleResponseDto publish(UUID id) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Статья не найдена"));
+        String previousSlug = article.getSlug();
         article.setStatus(ArticleStatus.PUBLISHED);
         article.setSlug(slugResolverService.resolveSlug(article.getSlug(), article.getTitle(), article.getId()));
         Article saved = articleRepository.save(article);
-        sitemapService.generateSitemap();
+        eventPublisher.publishEvent(PublishedArticleChangedEvent.of(saved.getId(), previousSlug, saved.getSlug()));
         return mapper.toDto(saved);
     }
 
@@ -86,29 +100,66 @@ public class ArticleEditorService {
                 .orElseThrow(() -> new NotFoundException("Статья не найдена"));
         article.setStatus(ArticleStatus.DRAFT);
         Article saved = articleRepository.save(article);
+        eventPublisher.publishEvent(PublishedArticleChangedEvent.of(saved.getId(), saved.getSlug()));
         return mapper.toDto(saved);
     }
 
-    public PageResponse<ArticleResponseDto> list(ArticleStatus status, String query, int page, int size) {
+    /**
+     * Возвращает страницу списка статей лёгкой проекцией, без HTML и JSON содержимого.
+     *
+     * @param status фильтр по статусу или {@code null}
+     * @param query  полнотекстовый запрос или {@code null}
+     * @param page   номер страницы
+     * @param size   размер страницы
+     * @param fields поля, которые нужно вернуть
+     * @return страница статей
+     */
+    public PageResponse<ArticleListItemDto> list(ArticleStatus status, String query, int page, int size,
+                                                 Set<ArticleListField> fields) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Article> result = articleRepository.search(status, query, pageable);
-        List<ArticleResponseDto> content = result.map(mapper::toDto).toList();
+        Page<ArticleListItem> result = articleListRepository.findPage(status, query, pageable);
+        List<ArticleListItemDto> content = result.map(item -> toListItem(item, fields)).toList();
         return new PageResponse<>(content, result.getNumber(), result.getSize(), result.getTotalElements());
     }
 
-    public PageResponse<ArticleResponseDto> findAll(ArticleStatus status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Article> result = articleRepository.findAllByStatus(status, pageable);
-        List<ArticleResponseDto> content = result.map(mapper::toDto).toList();
-        return new PageResponse<>(content, result.getNumber(), result.getSize(), result.getTotalElements());
+    public PageResponse<ArticleListItemDto> findAll(ArticleStatus status, int page, int size,
+                                                    Set<ArticleListField> fields) {
+        return list(status, null, page, size, fields);
+    }
+
+    /**
+     * Возвращает страницу статей с keyset-пагинацией по {@code (updated_at, id)} без подсчёта общего количества.
+     *
+     * @param status фильтр по статусу или {@code null}
+     * @param query  полнотекстовый запрос или {@code null}
+     * @param cursor курсор предыдущей страницы; пустая строка — первая страница
+     * @param size   размер страницы
+     * @param fields поля, которые нужно вернуть
+     * @return страница статей с курсором следующей страницы
+     */
+    public PageResponse<ArticleListItemDto> listByCursor(ArticleStatus status, String query, String cursor, int size,
+                                                         Set<ArticleListField> fields) {
+        ArticleKeyset after = ArticleKeyset.fromCursor(cursor);
+        List<ArticleListItem> items = articleListRepository.findPage(status, query, after, size + 1);
+        boolean hasMore = items.size() > size;
+        List<ArticleListItem> pageItems = hasMore ? items.subList(0, size) : items;
+        String nextCursor = null;
+        if (hasMore) {
+            ArticleListItem last = pageItems.get(size - 1);
+            nextCursor = new ArticleKeyset(last.updatedAt(), last.id()).toCursor();
+        }
+        List<ArticleListItemDto> content = pageItems.stream().map(item -> toListItem(item, fields)).toList();
+        return PageResponse.ofCursor(content, size, nextCursor);
     }
 
+    @Transactional
     public ArticleResponseDto get(UUID id) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Статья не найдена"));
         return mapper.toDto(article);
     }
 
+    @Transactional
     public ArticleResponseDto getPublishedBySlug(String slug) {
         Article article = articleRepository.findBySlugAndStatus(slug, ArticleStatus.PUBLISHED)
                 .orElseThrow(() -> new NotFoundException("Статья не найдена"));
@@ -116,6 +167,10 @@ public class ArticleEditorService {
     }
 
 
+    private ArticleListItemDto toListItem(ArticleListItem item, Set<ArticleListField> fields) {
+        return ArticleListField.retain(mapper.toListItem(item), fields);
+    }
+
     private String[] toArray(List<String> tags) {
         if (tags == null) {
             return null;
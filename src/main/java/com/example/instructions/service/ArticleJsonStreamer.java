@@ -0,0 +1,283 @@
+package com.example.instructions.service;
+
+import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.common.ConflictException;
+import com.example.instructions.common.NotFoundException;
+import com.example.instructions.common.ServiceUnavailableException;
+import com.example.instructions.repo.ArticleHeaderRow;
+import com.example.instructions.repo.ArticleStreamRepository;
+import com.example.instructions.repo.ArticleVersion;
+import com.example.instructions.repo.SectionRow;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Пишет опубликованную статью в JSON прямо в поток ответа, в том же виде, что и {@link ArticleDto}.
+ * <p>
+ * Главы и секции читаются курсором и сериализуются по одной, HTML статьи — фрагментами по
+ * {@value #CONTENT_CHUNK} символов, поэтому память на запрос не растёт с размером статьи.
+ * Все чтения идут в одной транзакции REPEATABLE READ и видят один снимок статьи.
+ * <p>
+ * Цена — соединение с БД занято всё время записи ответа, в том числе пока медленный клиент его читает.
+ * Поэтому одновременных потоков не больше {@code app.stream.max-concurrent}: лишние запросы сразу
+ * получают 503 и не отнимают соединения у остального API. Запись ограничена {@code app.stream.timeout}:
+ * по его истечении запросы к БД прерываются таймаутом транзакции, запись в ответ — ошибкой, ответ
+ * обрывается, а соединение возвращается в пул. Клиентам на медленной сети лучше подходит
+ * буферизованный {@code /by-slug/{slug}}, который отдаётся из кэша и не держит соединение.
+ */
+@Component
+public class ArticleJsonStreamer {
+
+    static final int CONTENT_CHUNK = 32 * 1024;
+
+    private final ArticleStreamRepository articleStreamRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    public ArticleJsonStreamer(ArticleStreamRepository articleStreamRepository,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               ArticleStreamProperties properties) {
+        this.articleStreamRepository = articleStreamRepository;
+        this.objectMapper = objectMapper;
+        this.timeout = properties.getTimeout();
+        this.permits = new Semaphore(properties.getMaxConcurrent());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate.setTimeout((int) Math.max(1, timeout.toSeconds()));
+    }
+
+    /**
+     * Находит статью и занимает место под поток. Вызывается до отправки заголовков ответа, поэтому
+     * отсутствие статьи и нехватка мест отдаются обычными 404 и 503, а не оборванным 200.
+     *
+     * @param slug слаг опубликованной статьи
+     * @return поток статьи; место освобождается по окончании {@link ArticleStream#writeTo}
+     * @throws NotFoundException           если статья не найдена или не опубликована
+     * @throws ServiceUnavailableException если уже открыто {@code app.stream.max-concurrent} потоков
+     */
+    public ArticleStream open(String slug) {
+        if (!permits.tryAcquire()) {
+            throw new ServiceUnavailableException("Слишком много одновременных потоковых загрузок статей");
+        }
+        try {
+            ArticleHeaderRow header = articleStreamRepository.findPublishedHeader(slug)
+                    .orElseThrow(() -> new NotFoundException("Статья не найдена или не опубликована"));
+            return new ArticleStream(header);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Открытый поток одной статьи.
+     */
+    public final class ArticleStream {
+
+        private final ArticleHeaderRow header;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ArticleStream(ArticleHeaderRow header) {
+            this.header = header;
+        }
+
+        /**
+         * @return версия статьи, которая будет записана
+         */
+        public ArticleVersion version() {
+            return new ArticleVersion(header.id(), header.version(), header.updatedAt());
+        }
+
+        /**
+         * Пишет статью в поток. Генератор не закрывает {@code out}.
+         *
+         * @param out поток ответа
+         * @throws ConflictException если статью изменили или сняли с публикации после {@link #open}
+         */
+        public void writeTo(OutputStream out) {
+            try {
+                OutputStream limited = new DeadlineOutputStream(out, System.nanoTime() + timeout.toNanos());
+                transactionTemplate.executeWithoutResult(status -> write(header, limited));
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    private void write(ArticleHeaderRow header, OutputStream out) {
+        if (!articleStreamRepository.isPublishedVersion(header.id(), header.version())) {
+            throw new ConflictException("Статья изменилась во время загрузки, повторите запрос");
+        }
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeHeader(generator, header);
+            generator.writeArrayFieldStart("chapters");
+            ChapterWriter chapters = new ChapterWriter(generator, header.id());
+            articleStreamRepository.forEachSection(header.id(), chapters::write);
+            chapters.finish();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeHeader(JsonGenerator generator, ArticleHeaderRow header) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", header.id().toString());
+        generator.writeStringField("title", header.title());
+        generator.writeStringField("slug", header.slug());
+        generator.writeStringField("status", header.status().name());
+        generator.writeNumberField("version", header.version());
+        generator.writeStringField("description", header.summary());
+        generator.writeFieldName("body");
+        generator.writeString(new ContentHtmlReader(header.id()), -1);
+        generator.writeObjectField("updatedAt", header.updatedAt());
+        generator.writeFieldName("tags");
+        generator.writeRawValue(header.tagsJson());
+    }
+
+    /**
+     * Читает HTML статьи из БД фрагментами по мере того, как генератор его записывает.
+     * Смещения считаются в символах PostgreSQL (кодовых точках), а не в {@code char}.
+     */
+    private final class ContentHtmlReader extends Reader {
+
+        private final UUID articleId;
+        private int offset;
+        private String chunk = "";
+        private int position;
+        private boolean exhausted;
+
+        private ContentHtmlReader(UUID articleId) {
+            this.articleId = articleId;
+        }
+
+        @Override
+        public int read(char[] buffer, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == chunk.length()) {
+                if (exhausted) {
+                    return -1;
+                }
+                chunk = articleStreamRepository.readContentHtml(articleId, offset, CONTENT_CHUNK);
+                offset += CONTENT_CHUNK;
+                position = 0;
+                exhausted = chunk.codePointCount(0, chunk.length()) < CONTENT_CHUNK;
+                if (chunk.isEmpty()) {
+                    return -1;
+                }
+            }
+            int count = Math.min(len, chunk.length() - position);
+            chunk.getChars(position, position + count, buffer, off);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Обрывает запись, когда истекло время на ответ, чтобы медленный клиент не держал соединение с БД.
+     */
+    private static final class DeadlineOutputStream extends FilterOutputStream {
+
+        private final long deadline;
+
+        private DeadlineOutputStream(OutputStream out, long deadline) {
+            super(out);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkDeadline();
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkDeadline();
+            out.write(b, off, len);
+        }
+
+        private void checkDeadline() throws IOException {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IOException("Превышено время потоковой отдачи статьи");
+            }
+        }
+    }
+
+    /**
+     * Открывает объект главы при смене главы и дописывает в неё секции.
+     */
+    private static final class ChapterWriter {
+
+        private final JsonGenerator generator;
+        private final String articleId;
+        private UUID currentChapter;
+
+        private ChapterWriter(JsonGenerator generator, UUID articleId) {
+            this.generator = generator;
+            this.articleId = articleId.toString();
+        }
+
+        void write(SectionRow row) {
+            try {
+                if (!row.chapterId().equals(currentChapter)) {
+                    finish();
+                    currentChapter = row.chapterId();
+                    generator.writeStartObject();
+                    generator.writeStringField("id", row.chapterId().toString());
+                    generator.writeStringField("articleId", articleId);
+                    generator.writeStringField("title", row.chapterTitle());
+                    generator.writeNumberField("orderIndex", row.chapterOrderIndex());
+                    generator.writeArrayFieldStart("sections");
+                }
+                if (row.sectionId() != null) {
+                    generator.writeStartObject();
+                    generator.writeStringField("id", row.sectionId().toString());
+                    generator.writeStringField("chapterId", row.chapterId().toString());
+                    generator.writeStringField("title", row.sectionTitle());
+                    generator.writeNumberField("orderIndex", row.sectionOrderIndex());
+                    generator.writeStringField("markdown", row.markdown());
+                    generator.writeEndObject();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (currentChapter != null) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                currentChapter = null;
+            }
+        }
+    }
+}
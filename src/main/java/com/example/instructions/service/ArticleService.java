@@ -1,53 +1,188 @@
 package com.example.instructions.service;
 
 import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.api.dto.ArticleSkeletonDto;
+import com.example.instructions.api.dto.SectionDto;
 import com.example.instructions.api.dto.TocDto;
 import com.example.instructions.api.mapper.ArticleMapper;
 import com.example.instructions.api.mapper.TocMapper;
+import com.example.instructions.cache.PublishedArticleCache;
 import com.example.instructions.common.NotFoundException;
+import com.example.instructions.common.SlugMovedException;
 import com.example.instructions.domain.Article;
 import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.metrics.ResultSizeMetrics;
 import com.example.instructions.repo.ArticleRepository;
+import com.example.instructions.repo.ArticleTreeRepository;
+import com.example.instructions.repo.ArticleVersion;
+import com.example.instructions.repo.PublishedArticleRepository;
+import com.example.instructions.repo.SectionRepository;
+import com.example.instructions.repo.TocRepository;
+import com.example.instructions.repo.TocRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Прикладной сервис для работы со статьями и их оглавлением.
+ * <p>
+ * Опубликованные статьи и оглавления читаются из read-model {@code published_article} одной
+ * выборкой по ключу; пока документ не построен, они собираются из таблиц статей.
+ * <p>
+ * Методы, загружающие сущности, выполняются в транзакции только для чтения: без flush и без
+ * снимков для dirty checking. Методы, которые обслуживаются из кэша или одним запросом, транзакцию
+ * не открывают, чтобы попадание в кэш не занимало соединение из пула.
  */
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class ArticleService {
 
     private final ArticleRepository articleRepository;
+    private final ArticleTreeRepository articleTreeRepository;
+    private final PublishedArticleRepository publishedArticleRepository;
+    private final TocRepository tocRepository;
+    private final SectionRepository sectionRepository;
     private final ArticleMapper articleMapper;
     private final TocMapper tocMapper;
+    private final PublishedArticleCache publishedArticleCache;
+    private final ResultSizeMetrics resultSizeMetrics;
+    private final ObjectMapper objectMapper;
 
 
     /**
-     * Загружает опубликованную статью по слагу.
+     * Возвращает опубликованную статью по слагу, по возможности из кэша.
      *
      * @param slug уникальный слаг
      * @return DTO статьи
      */
     public ArticleDto getPublishedArticle(String slug) {
-        Article article = articleRepository.findBySlugAndStatus(slug, ArticleStatus.PUBLISHED)
-                .orElseThrow(() -> new NotFoundException("Статья не найдена или не опубликована"));
-        article.getChapters().forEach(chapter -> chapter.getSections().size());
-        return articleMapper.toPublicDto(article);
+        return publishedArticleCache.get(slug, this::loadPublishedArticle);
     }
 
     /**
-     * Возвращает оглавление опубликованной статьи.
+     * Возвращает оглавление опубликованной статьи: из read-model, а пока документ не построен —
+     * проекцией глав и секций без их текста. Готовый ответ кэшируется по версии статьи
+     * в {@code RenderedResponseCache}.
      *
      * @param articleId идентификатор статьи
      * @return оглавление
      */
     public TocDto getPublishedToc(UUID articleId) {
-        Article article = articleRepository.findDetailedByIdAndStatus(articleId, ArticleStatus.PUBLISHED)
+        return publishedArticleRepository.findTocByArticleId(articleId)
+                .map(toc -> fromJson(toc, TocDto.class))
+                .orElseGet(() -> buildPublishedToc(articleId));
+    }
+
+    private TocDto buildPublishedToc(UUID articleId) {
+        List<TocRow> rows = tocRepository.findTocRows(articleId, ArticleStatus.PUBLISHED);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Оглавление доступно только для опубликованных статей");
+        }
+        return tocMapper.fromRows(articleId, rows);
+    }
+
+    /**
+     * Возвращает каркас опубликованной статьи: заголовок, теги и оглавление без текста секций.
+     *
+     * @param slug уникальный слаг
+     * @return каркас статьи
+     */
+    @Transactional(readOnly = true)
+    public ArticleSkeletonDto getPublishedSkeleton(String slug) {
+        Article article = articleRepository.findWithTagsBySlugAndStatus(slug, ArticleStatus.PUBLISHED)
+                .orElseThrow(() -> new NotFoundException("Статья не найдена или не опубликована"));
+        ArticleSkeletonDto skeleton = articleMapper.toSkeletonDto(article);
+        List<TocRow> rows = tocRepository.findTocRows(article.getId(), ArticleStatus.PUBLISHED);
+        skeleton.setToc(tocMapper.fromRows(article.getId(), rows).getItems());
+        return skeleton;
+    }
+
+    /**
+     * Возвращает секции главы опубликованной статьи.
+     *
+     * @param articleId идентификатор статьи
+     * @param chapterId идентификатор главы
+     * @return секции главы по порядку
+     */
+    @Transactional(readOnly = true)
+    public List<SectionDto> getPublishedSections(UUID articleId, UUID chapterId) {
+        return articleMapper.toSectionDtos(
+                sectionRepository.findByArticleAndChapter(articleId, chapterId, ArticleStatus.PUBLISHED));
+    }
+
+    /**
+     * Возвращает страницу секций опубликованной статьи в порядке оглавления.
+     *
+     * @param articleId идентификатор статьи
+     * @param page      номер страницы
+     * @param size      размер страницы
+     * @return секции страницы
+     */
+    @Transactional(readOnly = true)
+    public List<SectionDto> getPublishedSections(UUID articleId, int page, int size) {
+        return articleMapper.toSectionDtos(
+                sectionRepository.findByArticle(articleId, ArticleStatus.PUBLISHED, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Возвращает версию опубликованной статьи по слагу без загрузки её содержимого:
+     * из кэша статей, а при промахе — лёгким запросом {@code id, version, updated_at}.
+     *
+     * @param slug уникальный слаг
+     * @return версия статьи
+     * @throws SlugMovedException если это прежний слаг статьи, опубликованной под другим
+     */
+    public ArticleVersion getPublishedVersion(String slug) {
+        return publishedArticleCache.getIfPresent(slug)
+                .map(article -> new ArticleVersion(article.getId(), article.getVersion(), article.getUpdatedAt()))
+                .or(() -> articleRepository.findVersionBySlugAndStatus(slug, ArticleStatus.PUBLISHED))
+                .orElseThrow(() -> notFoundOrMoved(slug));
+    }
+
+    /**
+     * Возвращает версию опубликованной статьи по идентификатору без загрузки её содержимого.
+     *
+     * @param articleId идентификатор статьи
+     * @return версия статьи
+     */
+    public ArticleVersion getPublishedVersion(UUID articleId) {
+        return articleRepository.findVersionByIdAndStatus(articleId, ArticleStatus.PUBLISHED)
                 .orElseThrow(() -> new NotFoundException("Оглавление доступно только для опубликованных статей"));
-        TocDto tocDto = tocMapper.toTocDto(article.getId(), article.getChapters());
-        return tocDto;
+    }
+
+    private RuntimeException notFoundOrMoved(String slug) {
+        return articleRepository.findPublishedSlugByOldSlug(slug)
+                .<RuntimeException>map(current -> new SlugMovedException(slug, current))
+                .orElseGet(() -> new NotFoundException("Статья не найдена или не опубликована"));
+    }
+
+    private ArticleDto loadPublishedArticle(String slug) {
+        ArticleDto article = publishedArticleRepository.findBySlug(slug)
+                .map(document -> fromJson(document.document(), ArticleDto.class))
+                .orElseGet(() -> buildPublishedArticle(slug));
+        resultSizeMetrics.contentBytes(article.getBody());
+        return article;
+    }
+
+    private ArticleDto buildPublishedArticle(String slug) {
+        Article article = articleTreeRepository.findTreeBySlugAndStatus(slug, ArticleStatus.PUBLISHED)
+                .orElseThrow(() -> new NotFoundException("Статья не найдена или не опубликована"));
+        return articleMapper.toPublicDto(article);
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать документ статьи", e);
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.example.instructions.service;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Ограничения потоковой отдачи статьи: каждый поток держит соединение с БД, пока клиент читает ответ.
+ */
+@ConfigurationProperties("app.stream")
+public class ArticleStreamProperties {
+
+    private static final int DEFAULT_MAX_CONCURRENT = 4;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    private Integer maxConcurrent;
+    private Duration timeout;
+
+    /**
+     * @return максимум одновременных потоков; сверх него запрос получает 503
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent != null ? maxConcurrent : DEFAULT_MAX_CONCURRENT;
+    }
+
+    public void setMaxConcurrent(Integer maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * @return предельное время записи одного ответа, включая запросы к БД
+     */
+    public Duration getTimeout() {
+        return timeout != null ? timeout : DEFAULT_TIMEOUT;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
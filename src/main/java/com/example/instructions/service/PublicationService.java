@@ -8,13 +8,16 @@ import com.example.instructions.domain.Article;
 import com.example.instructions.domain.ArticleStatus;
 import com.example.instructions.domain.Revision;
 import com.example.instructions.repo.ArticleRepository;
+import com.example.instructions.repo.ArticleVersion;
 import com.example.instructions.repo.RevisionRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -24,6 +27,7 @@ import java.util.UUID;
  * Сервис публикации статей с созданием ревизий.
  */
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class PublicationService {
 
@@ -33,6 +37,7 @@ public class PublicationService {
     private final RevisionRepository revisionRepository;
     private final ArticleMapper articleMapper;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
 
 
@@ -44,16 +49,16 @@ public class PublicationService {
      */
     @Transactional
     public ArticleDto publishArticle(UUID articleId) {
-        Article article = articleRepository.findDetailedById(articleId)
+        Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new NotFoundException("Статья не найдена"));
         if (article.getStatus() != ArticleStatus.DRAFT) {
             throw new ConflictException("Публиковать можно только черновики");
         }
-        Optional<Article> existing = articleRepository.findBySlugAndStatus(article.getSlug(), ArticleStatus.PUBLISHED);
-        if (existing.isPresent() && !existing.get().getId().equals(article.getId())) {
+        Optional<ArticleVersion> existing =
+                articleRepository.findVersionBySlugAndStatus(article.getSlug(), ArticleStatus.PUBLISHED);
+        if (existing.isPresent() && !existing.get().id().equals(article.getId())) {
             throw new ConflictException("Опубликованная статья с таким слагом уже существует");
         }
-        article.getChapters().forEach(chapter -> chapter.getSections().size());
         article.setVersion(article.getVersion() + 1);
         article.setStatus(ArticleStatus.PUBLISHED);
         ArticleDto snapshot = articleMapper.toPublicDto(article);
@@ -65,6 +70,7 @@ public class PublicationService {
         revisionRepository.save(revision);
         Article saved = articleRepository.save(article);
         log.info("[Publication] articleId={} version={}", saved.getId(), saved.getVersion());
+        eventPublisher.publishEvent(PublishedArticleChangedEvent.of(saved.getId(), saved.getSlug()));
         return articleMapper.toPublicDto(saved);
     }
 
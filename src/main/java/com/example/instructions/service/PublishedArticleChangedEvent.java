@@ -0,0 +1,35 @@
+package com.example.instructions.service;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Событие изменения набора опубликованных статей: публикация, снятие с публикации
+ * или правка уже опубликованной статьи.
+ *
+ * @param articleId идентификатор статьи
+ * @param slugs     слаги, под которыми статья была или стала доступна публично
+ */
+public record PublishedArticleChangedEvent(UUID articleId, Set<String> slugs) {
+
+    public PublishedArticleChangedEvent {
+        slugs = slugs != null ? Set.copyOf(slugs) : Set.of();
+    }
+
+    /**
+     * Создаёт событие, отбрасывая пустые слаги.
+     *
+     * @param articleId идентификатор статьи
+     * @param slugs     прежний и/или текущий слаг статьи
+     * @return событие
+     */
+    public static PublishedArticleChangedEvent of(UUID articleId, String... slugs) {
+        Set<String> distinct = Stream.of(slugs)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return new PublishedArticleChangedEvent(articleId, distinct);
+    }
+}
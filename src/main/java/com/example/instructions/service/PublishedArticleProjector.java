@@ -0,0 +1,124 @@
+package com.example.instructions.service;
+
+import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.api.dto.TocDto;
+import com.example.instructions.api.mapper.ArticleMapper;
+import com.example.instructions.api.mapper.TocMapper;
+import com.example.instructions.domain.Article;
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.repo.ArticleRepository;
+import com.example.instructions.repo.PublishedArticleDocument;
+import com.example.instructions.repo.PublishedArticleRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Поддерживает read-model {@code published_article}: готовые к отдаче документ и оглавление
+ * опубликованной статьи.
+ * <p>
+ * Документ пересобирается перед коммитом транзакции, изменившей опубликованную статью,
+ * поэтому read-model не расходится с таблицей статей. При старте достраиваются документы
+ * статей, опубликованных до появления read-model: пачками, каждая в своей транзакции, чтобы
+ * контекст персистентности и транзакция не росли вместе с каталогом.
+ */
+@Component
+public class PublishedArticleProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(PublishedArticleProjector.class);
+
+    /** Сколько статей достраивать в одной транзакции при старте. */
+    static final int BACKFILL_BATCH = 50;
+
+    private final ArticleRepository articleRepository;
+    private final PublishedArticleRepository publishedArticleRepository;
+    private final ArticleMapper articleMapper;
+    private final TocMapper tocMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public PublishedArticleProjector(ArticleRepository articleRepository,
+                                     PublishedArticleRepository publishedArticleRepository,
+                                     ArticleMapper articleMapper,
+                                     TocMapper tocMapper,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.publishedArticleRepository = publishedArticleRepository;
+        this.articleMapper = articleMapper;
+        this.tocMapper = tocMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Пересобирает документ статьи в транзакции её изменения.
+     *
+     * @param event событие изменения опубликованной статьи
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPublishedArticleChanged(PublishedArticleChangedEvent event) {
+        refresh(event.articleId());
+    }
+
+    /**
+     * Строит документы опубликованных статей, для которых их ещё нет.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<UUID> missing = transactionTemplate.execute(status -> publishedArticleRepository.findMissingArticleIds());
+        for (int from = 0; from < missing.size(); from += BACKFILL_BATCH) {
+            List<UUID> batch = missing.subList(from, Math.min(from + BACKFILL_BATCH, missing.size()));
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::refresh));
+        }
+        if (!missing.isEmpty()) {
+            log.info("[PublishedArticle] backfilled {} documents", missing.size());
+        }
+    }
+
+    /**
+     * Сохраняет документ опубликованной статьи или удаляет его, если статья снята с публикации.
+     *
+     * @param articleId идентификатор статьи
+     */
+    public void refresh(UUID articleId) {
+        articleRepository.flush();
+        Optional<Article> published = articleRepository.findById(articleId)
+                .filter(article -> article.getStatus() == ArticleStatus.PUBLISHED);
+        if (published.isEmpty()) {
+            publishedArticleRepository.deleteByArticleId(articleId);
+            return;
+        }
+        Article article = published.get();
+        ArticleDto document = articleMapper.toPublicDto(article);
+        TocDto toc = tocMapper.toTocDto(article.getId(), article.getChapters());
+        publishedArticleRepository.save(new PublishedArticleDocument(
+                article.getSlug(),
+                article.getId(),
+                article.getVersion(),
+                article.getUpdatedAt(),
+                toJson(document),
+                toJson(toc)
+        ));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать документ статьи", e);
+        }
+    }
+}
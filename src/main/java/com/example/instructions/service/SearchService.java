@@ -1,10 +1,16 @@
 package com.example.instructions.service;
 
+import com.example.instructions.api.dto.HighlightDto;
 import com.example.instructions.api.dto.SearchResultDto;
 import com.example.instructions.api.enums.SearchResultType;
+import com.example.instructions.cache.SearchResultCache;
 import com.example.instructions.common.PageResponse;
+import com.example.instructions.search.SearchKeyset;
 import com.example.instructions.search.SearchRepository;
 import com.example.instructions.search.SearchResultProjection;
+import com.example.instructions.search.Snippet;
+import com.example.instructions.search.SnippetBuilder;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -12,22 +18,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
-import java.util.Locale;
-import java.util.regex.Pattern;
 
 /**
  * Сервис полнотекстового поиска по опубликованному контенту.
+ * <p>
+ * Транзакции не открываются: каждая выборка — одно выражение над проекциями без сущностей,
+ * поэтому соединение берётся из пула только на время запроса, а попадание в кэш его не занимает.
  */
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class SearchService {
 
-    private static final Pattern MARKDOWN_PATTERN = Pattern.compile("[#*_`>\\[\\]]");
-
     private final SearchRepository searchRepository;
+    private final SearchResultCache searchResultCache;
 
     /**
      * Выполняет поиск среди опубликованных статей и секций.
+     * Повторные запросы, совпадающие после нормализации, обслуживаются из кэша.
      *
      * @param query текст запроса
      * @param page  номер страницы
@@ -38,36 +46,60 @@ public class SearchService {
         if (!StringUtils.hasText(query)) {
             return new PageResponse<>(List.of(), page, size, 0);
         }
+        String normalized = SearchResultCache.normalize(query);
+        return searchResultCache.get(normalized, page, size, null, () -> doSearch(normalized, page, size));
+    }
+
+    private PageResponse<SearchResultDto> doSearch(String query, int page, int size) {
         Page<SearchResultProjection> results = searchRepository.search(query, PageRequest.of(page, size));
+        List<String> terms = SnippetBuilder.terms(query);
         List<SearchResultDto> content = results.getContent().stream()
-                .map(projection -> {
-                    SearchResultDto dto = new SearchResultDto();
-                    dto.setId(projection.getId());
-                    dto.setSlug(projection.getSlug());
-                    dto.setTitle(projection.getTitle());
-                    dto.setType(SearchResultType.valueOf(projection.getType()));
-                    dto.setSnippet(buildSnippet(projection, query));
-                    return dto;
-                })
+                .map(projection -> toDto(projection, terms))
                 .toList();
         return new PageResponse<>(content, results.getNumber(), results.getSize(), results.getTotalElements());
     }
 
-    private String buildSnippet(SearchResultProjection projection, String query) {
-        String raw = projection.getMarkdown() != null ? projection.getMarkdown() : projection.getTitle();
-        String sanitized = MARKDOWN_PATTERN.matcher(raw).replaceAll(" ");
-        sanitized = sanitized.replaceAll("\\s+", " ").trim();
-        if (sanitized.length() <= 200) {
-            return sanitized;
-        }
-        String lower = sanitized.toLowerCase(Locale.ROOT);
-        String lowerQuery = query.toLowerCase(Locale.ROOT);
-        int index = lower.indexOf(lowerQuery);
-        if (index < 0) {
-            return sanitized.substring(0, 200).trim() + "...";
+    /**
+     * Выполняет поиск с keyset-пагинацией: без OFFSET и без подсчёта общего количества.
+     *
+     * @param query  текст запроса
+     * @param cursor курсор предыдущей страницы; пустая строка — первая страница
+     * @param size   размер страницы
+     * @return страница результатов с курсором следующей страницы
+     */
+    public PageResponse<SearchResultDto> searchByCursor(String query, String cursor, int size) {
+        if (!StringUtils.hasText(query)) {
+            return PageResponse.ofCursor(List.of(), size, null);
         }
-        int start = Math.max(0, index - 60);
-        int end = Math.min(sanitized.length(), index + lowerQuery.length() + 60);
-        return sanitized.substring(start, end).trim() + "...";
+        String normalized = SearchResultCache.normalize(query);
+        return searchResultCache.get(normalized, 0, size, cursor, () -> doSearchByCursor(normalized, cursor, size));
+    }
+
+    private PageResponse<SearchResultDto> doSearchByCursor(String query, String cursor, int size) {
+        SearchKeyset after = SearchKeyset.fromCursor(cursor);
+        List<SearchResultProjection> results = searchRepository.searchAfter(query, after, size + 1);
+        boolean hasMore = results.size() > size;
+        List<SearchResultProjection> pageItems = hasMore ? results.subList(0, size) : results;
+        String nextCursor = hasMore ? SearchKeyset.of(pageItems.get(size - 1)).toCursor() : null;
+        List<String> terms = SnippetBuilder.terms(query);
+        List<SearchResultDto> content = pageItems.stream()
+                .map(projection -> toDto(projection, terms))
+                .toList();
+        return PageResponse.ofCursor(content, size, nextCursor);
+    }
+
+    private SearchResultDto toDto(SearchResultProjection projection, List<String> terms) {
+        SearchResultDto dto = new SearchResultDto();
+        dto.setId(projection.getId());
+        dto.setSlug(projection.getSlug());
+        dto.setTitle(projection.getTitle());
+        dto.setType(SearchResultType.valueOf(projection.getType()));
+        String raw = projection.getMarkdown() != null ? projection.getMarkdown() : projection.getTitle();
+        Snippet snippet = SnippetBuilder.build(raw, terms);
+        dto.setSnippet(snippet.text());
+        dto.setHighlights(snippet.highlights().stream()
+                .map(highlight -> new HighlightDto(highlight.start(), highlight.end()))
+                .toList());
+        return dto;
     }
 }
@@ -0,0 +1,101 @@
+package com.example.instructions.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * Настройки генерации sitemap.xml.
+ */
+@ConfigurationProperties("app.sitemap")
+public class SitemapProperties {
+
+    private static final String DEFAULT_BASE_URL = "https://devhandbook.ru";
+    private static final Duration DEFAULT_DEBOUNCE = Duration.ofSeconds(5);
+    private static final int DEFAULT_MAX_URLS_PER_SHARD = 50_000;
+
+    private String baseUrl;
+    private Duration debounce;
+    private Integer maxUrlsPerShard;
+    private String articlePath = "/articles/{slug}";
+    private String sectionPath = "";
+    private String tagPath = "/tags/{slug}";
+
+    /**
+     * @return адрес публичного сайта без завершающего слеша
+     */
+    public String getBaseUrl() {
+        String value = StringUtils.hasText(baseUrl) ? baseUrl : DEFAULT_BASE_URL;
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * @return задержка перед перегенерацией, за которую накопленные изменения объединяются в одну
+     */
+    public Duration getDebounce() {
+        return debounce != null ? debounce : DEFAULT_DEBOUNCE;
+    }
+
+    public void setDebounce(Duration debounce) {
+        this.debounce = debounce;
+    }
+
+    /**
+     * @return максимум адресов в одном шарде, не больше предела протокола в 50 000
+     */
+    public int getMaxUrlsPerShard() {
+        return maxUrlsPerShard != null ? maxUrlsPerShard : DEFAULT_MAX_URLS_PER_SHARD;
+    }
+
+    public void setMaxUrlsPerShard(Integer maxUrlsPerShard) {
+        this.maxUrlsPerShard = maxUrlsPerShard;
+    }
+
+    /**
+     * @return шаблон пути статьи с плейсхолдером {@code {slug}}
+     */
+    public String getArticlePath() {
+        return articlePath;
+    }
+
+    public void setArticlePath(String articlePath) {
+        this.articlePath = articlePath;
+    }
+
+    /**
+     * @return шаблон пути секции с плейсхолдерами {@code {slug}} и {@code {id}}; по умолчанию пустой
+     */
+    public String getSectionPath() {
+        return sectionPath;
+    }
+
+    public void setSectionPath(String sectionPath) {
+        this.sectionPath = sectionPath;
+    }
+
+    /**
+     * Секции попадают в sitemap только при собственном маршруте: адрес с {@code #фрагментом}
+     * поисковики сводят к адресу статьи, и такие строки лишь дублируют её в шардах.
+     *
+     * @return {@code true}, если задан шаблон пути секции без фрагмента
+     */
+    public boolean isSectionUrlsEnabled() {
+        return StringUtils.hasText(sectionPath) && sectionPath.indexOf('#') < 0;
+    }
+
+    /**
+     * @return шаблон пути страницы тега с плейсхолдером {@code {slug}}; пустой — теги не включаются
+     */
+    public String getTagPath() {
+        return tagPath;
+    }
+
+    public void setTagPath(String tagPath) {
+        this.tagPath = tagPath;
+    }
+}
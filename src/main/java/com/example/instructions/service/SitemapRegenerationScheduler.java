@@ -0,0 +1,102 @@
+package com.example.instructions.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Фоновое обновление sitemap с объединением изменений.
+ * <p>
+ * Первое изменение после обновления планирует его через {@code app.sitemap.debounce};
+ * статьи, изменённые до запуска, попадают в то же обновление.
+ * Изменение во время обновления планирует ещё одно, так что последнее состояние не теряется.
+ * При старте sitemap восстанавливается из сохранённой таблицы адресов, после сбоя — строится заново. Обновления выполняются строго по одному: блокировка
+ * берётся снаружи транзакционного вызова {@link SitemapService} и отпускается после коммита.
+ */
+@Component
+@RequiredArgsConstructor
+public class SitemapRegenerationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SitemapRegenerationScheduler.class);
+
+    private final SitemapService sitemapService;
+    private final SitemapProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean fullRebuild = new AtomicBoolean();
+    private final AtomicBoolean restore = new AtomicBoolean();
+    private final Set<UUID> changedArticles = ConcurrentHashMap.newKeySet();
+    private final Lock updateLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        restore.set(true);
+        requestRegeneration();
+    }
+
+    /**
+     * Планирует обновление после коммита изменения опубликованной статьи.
+     *
+     * @param event событие изменения опубликованной статьи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublishedArticleChanged(PublishedArticleChangedEvent event) {
+        changedArticles.add(event.articleId());
+        requestRegeneration();
+    }
+
+    /**
+     * Планирует обновление, если оно ещё не запланировано.
+     */
+    public void requestRegeneration() {
+        if (scheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::regenerate, Instant.now().plus(properties.getDebounce()));
+        }
+    }
+
+    private void regenerate() {
+        updateLock.lock();
+        try {
+            update();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void update() {
+        scheduled.set(false);
+        List<UUID> articleIds = List.copyOf(changedArticles);
+        changedArticles.removeAll(articleIds);
+        try {
+            if (fullRebuild.getAndSet(false)) {
+                restore.set(false);
+                sitemapService.generateSitemap();
+                return;
+            }
+            if (restore.getAndSet(false)) {
+                sitemapService.restoreSitemap();
+            }
+            if (!articleIds.isEmpty()) {
+                sitemapService.applyChanges(articleIds);
+            }
+        } catch (RuntimeException e) {
+            log.error("[Sitemap] update failed, scheduling full rebuild", e);
+            fullRebuild.set(true);
+            requestRegeneration();
+        }
+    }
+}
@@ -1,58 +1,461 @@
 package com.example.instructions.service;
 
-import com.example.instructions.domain.Article;
 import com.example.instructions.domain.ArticleStatus;
 import com.example.instructions.repo.ArticleRepository;
-import com.redfin.sitemapgenerator.ChangeFreq;
-import com.redfin.sitemapgenerator.WebSitemapGenerator;
-import com.redfin.sitemapgenerator.WebSitemapUrl;
+import com.example.instructions.repo.SectionRepository;
+import com.example.instructions.repo.SitemapEntry;
+import com.example.instructions.repo.SitemapState;
+import com.example.instructions.repo.SitemapUrlRepository;
+import com.example.instructions.repo.TagRepository;
+import com.example.instructions.sitemap.SitemapFile;
+import com.example.instructions.sitemap.SitemapSnapshot;
+import com.example.instructions.sitemap.SitemapUrl;
+import com.example.instructions.sitemap.SitemapWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
 
-import java.io.File;
-import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Генерация sitemap: gzip-шарды до 50 000 адресов и индекс sitemap_index.xml.
+ * <p>
+ * Адреса хранятся в таблице {@code sitemap_url} с закреплённым номером шарда, их копия по шардам —
+ * в памяти. При старте шарды восстанавливаются из таблицы и догоняются статьями, изменёнными после
+ * последней записи; полная генерация выполняется только на пустой таблице или после смены настроек
+ * адресов. Публикация и снятие с публикации меняют только строки своей статьи и страницы её прежних
+ * и текущих тегов, а затронутые шарды пересобираются из памяти без перечитывания таблицы, поэтому
+ * стоимость зависит от размера изменения, а не от размера каталога. Готовый снимок отдаётся
+ * {@code SitemapController} из памяти.
+ * <p>
+ * Новые шарды и снимок становятся видны только после коммита транзакции: при откате память
+ * остаётся согласованной с таблицей. Методы не синхронизированы сами — монитор отпускался бы
+ * до коммита; вызовы выстраивает в очередь {@link SitemapRegenerationScheduler}.
+ * <p>
+ * Писатель sitemap предполагается один: события об изменениях статей доставляются только внутри
+ * процесса, как и для кэшей публичного контента, поэтому снимок в памяти другого экземпляра
+ * обновится лишь при его перезапуске. Запись в таблицу дополнительно защищена advisory-блокировкой,
+ * так что параллельные экземпляры не портят её, а только выстраиваются в очередь.
+ */
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class SitemapService {
 
+    private static final Logger log = LoggerFactory.getLogger(SitemapService.class);
+
+    /** Сколько адресов накапливать перед записью в таблицу при полной генерации. */
+    private static final int REBUILD_BATCH = 1000;
+
+    /** Версия раскладки таблицы; при изменении её смысла повышается, и старт перестраивает всё. */
+    private static final int LAYOUT_VERSION = 1;
+
+    /**
+     * Запас при догоне изменений на старте: статья могла закоммититься с {@code updated_at} раньше
+     * последней записи, но ещё ждать отложенного обновления. Повторное применение безвредно.
+     */
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(1);
+
     private final ArticleRepository articleRepository;
-    private static final String BASE_URL = "https://devhandbook.ru";
+    private final SectionRepository sectionRepository;
+    private final TagRepository tagRepository;
+    private final SitemapUrlRepository sitemapUrlRepository;
+    private final SitemapProperties properties;
+
+    /** Адреса каждого шарда по {@code loc}; заменяется целиком после коммита. */
+    private volatile NavigableMap<Integer, NavigableMap<String, SitemapUrl>> shardContents = new TreeMap<>();
+
+    private volatile SitemapSnapshot snapshot;
 
+    /**
+     * @return последний сгенерированный sitemap или пусто, если генерации ещё не было
+     */
+    public Optional<SitemapSnapshot> currentSnapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Восстанавливает шарды из таблицы адресов и применяет изменения статей, сделанные после
+     * последней записи. Если таблица пуста или настройки адресов поменялись, строит sitemap заново.
+     */
+    @Transactional
+    public void restoreSitemap() {
+        sitemapUrlRepository.lock();
+        restore();
+    }
+
+    /**
+     * Полностью перестраивает таблицу адресов и все шарды, читая только слаги, идентификаторы и даты.
+     */
+    @Transactional
     public void generateSitemap() {
-        try {
-            // ✅ Используем текущую рабочую директорию (Spring Boot root)
-            File baseDir = new File(System.getProperty("java.io.tmpdir"));
-            if (!baseDir.exists()) {
-                baseDir.mkdirs();
+        sitemapUrlRepository.lock();
+        regenerate();
+    }
+
+    /**
+     * Применяет изменения опубликованных статей: обновляет их адреса и страницы их прежних
+     * и текущих тегов и перегенерирует только шарды, в которых что-то поменялось.
+     *
+     * @param articleIds изменённые статьи
+     */
+    @Transactional
+    public void applyChanges(Collection<UUID> articleIds) {
+        sitemapUrlRepository.lock();
+        if (snapshot == null) {
+            restore();
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        update(articleIds, shardContents, snapshot, now);
+    }
+
+    private void restore() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Optional<SitemapState> state = sitemapUrlRepository.findState();
+        if (state.isEmpty() || !state.get().fingerprint().equals(fingerprint())) {
+            regenerate();
+            return;
+        }
+        NavigableMap<Integer, NavigableMap<String, SitemapUrl>> contents = new TreeMap<>();
+        try (Stream<SitemapUrl> urls = sitemapUrlRepository.streamAll()) {
+            urls.forEach(url -> contents.computeIfAbsent(url.shard(), key -> new TreeMap<>()).put(url.loc(), url));
+        }
+        if (contents.isEmpty()) {
+            regenerate();
+            return;
+        }
+        SitemapSnapshot restored = SitemapSnapshot.of(properties.getBaseUrl(), renderAll(contents, now), now);
+        List<UUID> stale = articleRepository.findIdsUpdatedSince(
+                state.get().syncedAt().minus(properties.getDebounce()).minus(CATCH_UP_MARGIN));
+        log.info("[Sitemap] restored: shards={}, changed since last sync={}", contents.size(), stale.size());
+        if (stale.isEmpty()) {
+            publishAfterCommit(contents, restored);
+        } else {
+            update(stale, contents, restored, now);
+        }
+    }
+
+    private void regenerate() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        sitemapUrlRepository.deleteAll();
+        NavigableMap<Integer, NavigableMap<String, SitemapUrl>> contents = new TreeMap<>();
+
+        ShardFiller filler = new ShardFiller(maxUrlsPerShard(), contents);
+        filler.add(staticUrls());
+        long articles = filler.addAll(articleRepository.streamSitemapEntries(ArticleStatus.PUBLISHED),
+                this::articleUrl);
+        long sections = properties.isSectionUrlsEnabled()
+                ? filler.addAll(sectionRepository.streamSitemapEntries(ArticleStatus.PUBLISHED),
+                        this::sectionUrl)
+                : 0;
+        long tags = 0;
+        if (tagsEnabled()) {
+            sitemapUrlRepository.snapshotAllArticleTags();
+            tags = filler.addAll(tagRepository.streamSitemapEntries(ArticleStatus.PUBLISHED), this::tagUrl);
+        }
+        filler.flush();
+        sitemapUrlRepository.saveState(new SitemapState(fingerprint(), now));
+
+        Map<String, SitemapFile> shards = renderAll(contents, now);
+        publishAfterCommit(contents, SitemapSnapshot.of(properties.getBaseUrl(), shards, now));
+        log.info("[Sitemap] generated: articles={}, sections={}, tags={}, shards={}",
+                articles, sections, tags, shards.size());
+    }
+
+    private void update(Collection<UUID> articleIds,
+                        NavigableMap<Integer, NavigableMap<String, SitemapUrl>> current,
+                        SitemapSnapshot base,
+                        OffsetDateTime now) {
+        ShardChanges changes = new ShardChanges(maxUrlsPerShard(), current);
+        Set<UUID> tagIds = new HashSet<>();
+        for (UUID articleId : articleIds) {
+            reconcile(sitemapUrlRepository.findByArticleId(articleId), desiredForArticle(articleId), changes);
+            if (tagsEnabled()) {
+                tagIds.addAll(sitemapUrlRepository.findTagIdsByArticleId(articleId));
+                tagIds.addAll(sitemapUrlRepository.snapshotArticleTags(articleId));
+            }
+        }
+        if (!tagIds.isEmpty()) {
+            List<String> tagLocs = tagRepository.findAllById(tagIds).stream()
+                    .map(tag -> expand(properties.getTagPath(), tag.getSlug(), tag.getId()))
+                    .toList();
+            List<SitemapUrl> desiredTags = tagRepository.findSitemapEntriesByIds(tagIds, ArticleStatus.PUBLISHED)
+                    .stream()
+                    .map(this::tagUrl)
+                    .toList();
+            reconcile(sitemapUrlRepository.findByLocIn(tagLocs), desiredTags, changes);
+        }
+        sitemapUrlRepository.saveState(new SitemapState(fingerprint(), now));
+        if (changes.touched.isEmpty()) {
+            publishAfterCommit(current, base);
+            return;
+        }
+
+        Map<String, SitemapFile> replaced = new HashMap<>();
+        List<String> removed = new ArrayList<>();
+        for (int shard : changes.touched) {
+            NavigableMap<String, SitemapUrl> contents = changes.working.get(shard);
+            if (contents == null || contents.isEmpty()) {
+                changes.working.remove(shard);
+                removed.add(SitemapWriter.shardName(shard));
+            } else {
+                replaced.put(SitemapWriter.shardName(shard), SitemapWriter.writeShard(shard, contents.values(), now));
+            }
+        }
+        publishAfterCommit(changes.working, base.with(properties.getBaseUrl(), replaced, removed, now));
+        log.info("[Sitemap] updated: articles={}, tags={}, shards={}", articleIds.size(), tagIds.size(),
+                changes.touched);
+    }
+
+    /**
+     * Делает новые шарды и снимок видимыми после коммита; без транзакции — сразу.
+     */
+    private void publishAfterCommit(NavigableMap<Integer, NavigableMap<String, SitemapUrl>> contents,
+                                    SitemapSnapshot next) {
+        Runnable publish = () -> {
+            shardContents = contents;
+            snapshot = next;
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish.run();
+            }
+        });
+    }
+
+    /**
+     * Приводит сохранённые адреса к желаемым: лишние удаляет, изменившиеся обновляет на месте,
+     * новые кладёт в шард, где уже лежат адреса той же статьи, либо в первый шард со свободным местом.
+     */
+    private void reconcile(List<SitemapUrl> existing, List<SitemapUrl> desired, ShardChanges changes) {
+        Map<String, SitemapUrl> current = existing.stream()
+                .collect(Collectors.toMap(SitemapUrl::loc, Function.identity()));
+        Set<String> desiredLocs = desired.stream().map(SitemapUrl::loc).collect(Collectors.toSet());
+
+        List<String> deleted = new ArrayList<>();
+        for (SitemapUrl url : existing) {
+            if (!desiredLocs.contains(url.loc())) {
+                deleted.add(url.loc());
+                changes.remove(url);
+            }
+        }
+        sitemapUrlRepository.deleteByLocIn(deleted);
+
+        Integer preferred = existing.isEmpty() ? null : existing.get(0).shard();
+        List<SitemapUrl> saved = new ArrayList<>();
+        for (SitemapUrl url : desired) {
+            SitemapUrl stored = current.get(url.loc());
+            if (stored == null) {
+                saved.add(changes.add(url, preferred));
+            } else if (!Objects.equals(stored.lastmod(), url.lastmod())) {
+                saved.add(changes.put(url.withShard(stored.shard())));
+            }
+        }
+        sitemapUrlRepository.saveAll(saved);
+    }
+
+    private List<SitemapUrl> desiredForArticle(UUID articleId) {
+        Optional<SitemapEntry> article = articleRepository.findSitemapEntry(articleId, ArticleStatus.PUBLISHED);
+        if (article.isEmpty()) {
+            return List.of();
+        }
+        List<SitemapUrl> urls = new ArrayList<>();
+        urls.add(articleUrl(article.get()));
+        if (properties.isSectionUrlsEnabled()) {
+            sectionRepository.findSitemapEntriesByArticleId(articleId, ArticleStatus.PUBLISHED)
+                    .forEach(entry -> urls.add(sectionUrl(entry)));
+        }
+        return urls;
+    }
+
+    private static Map<String, SitemapFile> renderAll(NavigableMap<Integer, NavigableMap<String, SitemapUrl>> contents,
+                                                      OffsetDateTime now) {
+        Map<String, SitemapFile> shards = new HashMap<>();
+        contents.forEach((shard, urls) ->
+                shards.put(SitemapWriter.shardName(shard), SitemapWriter.writeShard(shard, urls.values(), now)));
+        return shards;
+    }
+
+    private List<SitemapUrl> staticUrls() {
+        String baseUrl = properties.getBaseUrl();
+        // Добавляем главную и общие страницы
+        return List.of(
+                new SitemapUrl(baseUrl + "/", SitemapUrl.Kind.STATIC, null, null, 0),
+                new SitemapUrl(baseUrl + "/articles", SitemapUrl.Kind.STATIC, null, null, 0));
+    }
+
+    private SitemapUrl articleUrl(SitemapEntry entry) {
+        return new SitemapUrl(expand(properties.getArticlePath(), entry), SitemapUrl.Kind.ARTICLE,
+                entry.articleId(), entry.updatedAt(), 0);
+    }
+
+    private SitemapUrl sectionUrl(SitemapEntry entry) {
+        return new SitemapUrl(expand(properties.getSectionPath(), entry), SitemapUrl.Kind.SECTION,
+                entry.articleId(), entry.updatedAt(), 0);
+    }
+
+    private SitemapUrl tagUrl(SitemapEntry entry) {
+        return new SitemapUrl(expand(properties.getTagPath(), entry), SitemapUrl.Kind.TAG,
+                null, entry.updatedAt(), 0);
+    }
+
+    private String expand(String template, SitemapEntry entry) {
+        return expand(template, entry.slug(), entry.id());
+    }
+
+    private String expand(String template, String slug, UUID id) {
+        return properties.getBaseUrl() + template.replace("{slug}", slug).replace("{id}", id.toString());
+    }
+
+    private boolean tagsEnabled() {
+        return StringUtils.hasText(properties.getTagPath());
+    }
+
+    /**
+     * Отпечаток настроек, от которых зависят адреса и раскладка по шардам: при его смене
+     * сохранённая таблица не годится для восстановления.
+     */
+    private String fingerprint() {
+        String settings = String.join("|", String.valueOf(LAYOUT_VERSION), properties.getBaseUrl(),
+                properties.getArticlePath(), properties.isSectionUrlsEnabled() ? properties.getSectionPath() : "",
+                tagsEnabled() ? properties.getTagPath() : "", String.valueOf(maxUrlsPerShard()));
+        return DigestUtils.md5DigestAsHex(settings.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int maxUrlsPerShard() {
+        return Math.min(properties.getMaxUrlsPerShard(), SitemapWriter.MAX_URLS_PER_SHARD);
+    }
+
+    /**
+     * Последовательное заполнение шардов при полной генерации с пакетной записью в таблицу.
+     */
+    private final class ShardFiller {
+
+        private final int maxUrls;
+        private final NavigableMap<Integer, NavigableMap<String, SitemapUrl>> contents;
+        private final List<SitemapUrl> batch = new ArrayList<>(REBUILD_BATCH);
+        private int shard;
+        private int inShard;
+
+        private ShardFiller(int maxUrls, NavigableMap<Integer, NavigableMap<String, SitemapUrl>> contents) {
+            this.maxUrls = maxUrls;
+            this.contents = contents;
+        }
+
+        private long addAll(Stream<SitemapEntry> entries, Function<SitemapEntry, SitemapUrl> mapper) {
+            long count = 0;
+            try (entries) {
+                for (SitemapEntry entry : (Iterable<SitemapEntry>) entries::iterator) {
+                    add(List.of(mapper.apply(entry)));
+                    count++;
+                }
             }
+            return count;
+        }
+
+        private void add(List<SitemapUrl> urls) {
+            for (SitemapUrl url : urls) {
+                if (shard == 0 || inShard == maxUrls) {
+                    shard++;
+                    inShard = 0;
+                }
+                SitemapUrl placed = url.withShard(shard);
+                batch.add(placed);
+                contents.computeIfAbsent(shard, key -> new TreeMap<>()).put(placed.loc(), placed);
+                inShard++;
+                if (batch.size() == REBUILD_BATCH) {
+                    flush();
+                }
+            }
+        }
 
-            WebSitemapGenerator generator = new WebSitemapGenerator(BASE_URL, baseDir);
+        private void flush() {
+            sitemapUrlRepository.saveAll(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Точечные изменения адресов с учётом заполненности шардов. Изменения копируют только
+     * затронутые шарды, опубликованная раскладка до коммита не меняется.
+     */
+    private static final class ShardChanges {
+
+        private final int maxUrls;
+        private final NavigableMap<Integer, NavigableMap<String, SitemapUrl>> working;
+        private final Set<Integer> touched = new TreeSet<>();
+
+        private ShardChanges(int maxUrls, NavigableMap<Integer, NavigableMap<String, SitemapUrl>> published) {
+            this.maxUrls = maxUrls;
+            this.working = new TreeMap<>(published);
+        }
 
-            Set<Article> articles = articleRepository.findAllByStatus(ArticleStatus.PUBLISHED);
-            for (Article article : articles) {
-                String url = BASE_URL + "/articles/" + article.getSlug();
-                WebSitemapUrl sitemapUrl = new WebSitemapUrl.Options(url)
-                        .lastMod(java.util.Date.from(article.getUpdatedAt().toInstant()))
-                        .priority(0.8)
-                        .changeFreq(ChangeFreq.WEEKLY)
-                        .build();
-                generator.addUrl(sitemapUrl);
+        private SitemapUrl add(SitemapUrl url, Integer preferred) {
+            int shard;
+            if (preferred != null && sizeOf(preferred) < maxUrls) {
+                shard = preferred;
+            } else {
+                shard = working.entrySet().stream()
+                        .filter(entry -> entry.getValue().size() < maxUrls)
+                        .map(Map.Entry::getKey)
+                        .findFirst()
+                        .orElseGet(() -> working.isEmpty() ? 1 : working.lastKey() + 1);
             }
+            return put(url.withShard(shard));
+        }
 
-            // Добавляем главную и общие страницы
-            generator.addUrl(BASE_URL + "/");
-            generator.addUrl(BASE_URL + "/articles");
+        private SitemapUrl put(SitemapUrl url) {
+            editable(url.shard()).put(url.loc(), url);
+            return url;
+        }
 
-            generator.write();
-            System.out.println("✅ sitemap.xml сгенерирован в " + baseDir.getAbsolutePath());
+        private void remove(SitemapUrl url) {
+            editable(url.shard()).remove(url.loc());
+        }
 
+        private NavigableMap<String, SitemapUrl> editable(int shard) {
+            if (touched.add(shard)) {
+                NavigableMap<String, SitemapUrl> published = working.get(shard);
+                working.put(shard, published != null ? new TreeMap<>(published) : new TreeMap<>());
+            }
+            return working.get(shard);
+        }
 
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Ошибка при генерации sitemap.xml", e);
-        } catch (Exception e) {
-            throw new RuntimeException("Не удалось создать sitemap.xml", e);
+        private int sizeOf(int shard) {
+            NavigableMap<String, SitemapUrl> contents = working.get(shard);
+            return contents != null ? contents.size() : 0;
         }
     }
 }
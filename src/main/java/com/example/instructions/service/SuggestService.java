@@ -0,0 +1,72 @@
+package com.example.instructions.service;
+
+import com.example.instructions.api.dto.SuggestionDto;
+import com.example.instructions.api.enums.SearchResultType;
+import com.example.instructions.search.SearchRepository;
+import com.example.instructions.search.SuggestIndex;
+import com.example.instructions.search.SuggestSource;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Подсказки поиска по мере ввода из in-memory индекса заголовков опубликованных статей и секций.
+ * <p>
+ * Индекс строится при старте приложения и обновляется по одной статье
+ * после каждого {@link PublishedArticleChangedEvent}; запросы подсказок в БД не ходят.
+ */
+@Service
+@RequiredArgsConstructor
+public class SuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    private final SearchRepository searchRepository;
+    private final SuggestIndex index = new SuggestIndex();
+
+    /**
+     * Возвращает подсказки для введённого текста.
+     *
+     * @param query введённый текст; последнее слово может быть неполным
+     * @param limit максимальное число подсказок
+     * @return подсказки
+     */
+    public List<SuggestionDto> suggest(String query, int limit) {
+        return index.suggest(query, limit).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<SuggestSource> sources = searchRepository.findSuggestSources(null);
+        index.rebuild(sources);
+        log.info("[Suggest] index built: articles={}, titles={}", index.articleCount(), sources.size());
+    }
+
+    /**
+     * Переиндексирует заголовки изменённой статьи; снятая с публикации статья удаляется из индекса.
+     *
+     * @param event событие изменения опубликованной статьи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublishedArticleChanged(PublishedArticleChangedEvent event) {
+        index.replace(event.articleId(), searchRepository.findSuggestSources(event.articleId()));
+        log.debug("[Suggest] reindexed articleId={}", event.articleId());
+    }
+
+    private SuggestionDto toDto(SuggestSource source) {
+        SuggestionDto dto = new SuggestionDto();
+        dto.setType(SearchResultType.valueOf(source.type()));
+        dto.setId(source.id());
+        dto.setTitle(source.title());
+        dto.setSlug(source.slug());
+        return dto;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.instructions.sitemap;
+
+/**
+ * Готовый к отдаче файл sitemap в памяти.
+ *
+ * @param name         имя файла в URL, например {@code sitemap-1.xml.gz}
+ * @param content      содержимое (для шардов — в gzip)
+ * @param etag         сильный ETag по содержимому, в кавычках
+ * @param lastModified самая поздняя дата изменения среди адресов файла, мс
+ */
+public record SitemapFile(String name, byte[] content, String etag, long lastModified) {
+}
@@ -0,0 +1,56 @@
+package com.example.instructions.sitemap;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Неизменяемый набор сгенерированных файлов sitemap: индекс и шарды.
+ *
+ * @param index  sitemap_index.xml
+ * @param shards шарды по имени файла
+ */
+public record SitemapSnapshot(SitemapFile index, Map<String, SitemapFile> shards) {
+
+    public SitemapSnapshot {
+        shards = Map.copyOf(shards);
+    }
+
+    /**
+     * Собирает снимок из шардов, строя индекс заново.
+     *
+     * @param baseUrl     адрес, по которому доступны шарды
+     * @param shards      шарды по имени файла
+     * @param generatedAt время генерации
+     * @return снимок
+     */
+    public static SitemapSnapshot of(String baseUrl, Map<String, SitemapFile> shards, OffsetDateTime generatedAt) {
+        return new SitemapSnapshot(SitemapWriter.writeIndex(baseUrl, shards.values(), generatedAt), shards);
+    }
+
+    /**
+     * Возвращает новый снимок, в котором заменены или удалены отдельные шарды.
+     *
+     * @param baseUrl     адрес, по которому доступны шарды
+     * @param replaced    новые версии шардов
+     * @param removed     имена опустевших шардов
+     * @param generatedAt время генерации
+     * @return снимок
+     */
+    public SitemapSnapshot with(String baseUrl, Map<String, SitemapFile> replaced, Iterable<String> removed,
+                                OffsetDateTime generatedAt) {
+        Map<String, SitemapFile> merged = new HashMap<>(shards);
+        merged.putAll(replaced);
+        removed.forEach(merged::remove);
+        return of(baseUrl, merged, generatedAt);
+    }
+
+    /**
+     * @param name имя файла шарда
+     * @return шард или пусто
+     */
+    public Optional<SitemapFile> shard(String name) {
+        return Optional.ofNullable(shards.get(name));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.instructions.sitemap;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Адрес в sitemap, как он хранится в таблице {@code sitemap_url}.
+ *
+ * @param loc       абсолютный адрес страницы, ключ
+ * @param kind      вид страницы
+ * @param articleId статья, к которой относится адрес, или {@code null} для общих страниц и тегов
+ * @param lastmod   время последнего изменения или {@code null}
+ * @param shard     номер шарда, начиная с 1
+ */
+public record SitemapUrl(String loc, Kind kind, UUID articleId, OffsetDateTime lastmod, int shard) {
+
+    /**
+     * Вид страницы в sitemap.
+     */
+    public enum Kind {
+        STATIC,
+        ARTICLE,
+        SECTION,
+        TAG
+    }
+
+    /**
+     * @return тот же адрес в другом шарде
+     */
+    public SitemapUrl withShard(int shard) {
+        return new SitemapUrl(loc, kind, articleId, lastmod, shard);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.instructions.sitemap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Запись файлов sitemap: gzip-шарда с адресами и индекса sitemap_index.xml.
+ * <p>
+ * Шард пишется потоково: адреса сразу сжимаются, в памяти держатся только сжатые байты.
+ * Лимиты протокола sitemaps.org: не более 50 000 адресов и 50 МБ несжатого XML на файл.
+ */
+public final class SitemapWriter {
+
+    /** Предел протокола на число адресов в одном файле. */
+    public static final int MAX_URLS_PER_SHARD = 50_000;
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n";
+    private static final String URLSET_OPEN = "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n";
+    private static final String URLSET_CLOSE = "</urlset>\n";
+    private static final String INDEX_OPEN = "<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n";
+    private static final String INDEX_CLOSE = "</sitemapindex>\n";
+    private static final String INDEX_NAME = "sitemap_index.xml";
+
+    private SitemapWriter() {
+    }
+
+    /**
+     * Имя файла шарда по номеру, начиная с 1.
+     *
+     * @param number номер шарда
+     * @return имя файла
+     */
+    public static String shardName(int number) {
+        return "sitemap-" + number + ".xml.gz";
+    }
+
+    /**
+     * Записывает шард.
+     *
+     * @param number      номер шарда
+     * @param urls        адреса шарда в порядке вывода
+     * @param generatedAt дата изменения шарда, если ни у одного адреса её нет
+     * @return gzip-файл шарда
+     */
+    public static SitemapFile writeShard(int number, Iterable<SitemapUrl> urls, OffsetDateTime generatedAt) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        OffsetDateTime lastModified = null;
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(buffer), StandardCharsets.UTF_8)) {
+            writer.write(XML_HEADER);
+            writer.write(URLSET_OPEN);
+            StringBuilder entry = new StringBuilder(256);
+            for (SitemapUrl url : urls) {
+                entry.setLength(0);
+                entry.append("<url><loc>");
+                escape(url.loc(), entry);
+                entry.append("</loc>");
+                if (url.lastmod() != null) {
+                    entry.append("<lastmod>").append(format(url.lastmod())).append("</lastmod>");
+                    if (lastModified == null || url.lastmod().isAfter(lastModified)) {
+                        lastModified = url.lastmod();
+                    }
+                }
+                entry.append("</url>\n");
+                writer.append(entry);
+            }
+            writer.write(URLSET_CLOSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] content = buffer.toByteArray();
+        return new SitemapFile(shardName(number), content, etag(content),
+                toMillis(lastModified != null ? lastModified : generatedAt));
+    }
+
+    /**
+     * Записывает индекс по шардам.
+     *
+     * @param baseUrl     адрес, по которому доступны шарды
+     * @param shards      шарды
+     * @param generatedAt дата изменения индекса без шардов
+     * @return файл индекса
+     */
+    public static SitemapFile writeIndex(String baseUrl, Collection<SitemapFile> shards, OffsetDateTime generatedAt) {
+        List<SitemapFile> ordered = shards.stream()
+                .sorted(Comparator.comparingInt(SitemapWriter::shardNumber))
+                .toList();
+        StringBuilder index = new StringBuilder(XML_HEADER).append(INDEX_OPEN);
+        long lastModified = ordered.isEmpty() ? toMillis(generatedAt) : 0;
+        for (SitemapFile shard : ordered) {
+            index.append("<sitemap><loc>");
+            escape(baseUrl + "/" + shard.name(), index);
+            index.append("</loc><lastmod>")
+                    .append(format(OffsetDateTime.ofInstant(Instant.ofEpochMilli(shard.lastModified()), ZoneOffset.UTC)))
+                    .append("</lastmod></sitemap>\n");
+            lastModified = Math.max(lastModified, shard.lastModified());
+        }
+        index.append(INDEX_CLOSE);
+        byte[] content = index.toString().getBytes(StandardCharsets.UTF_8);
+        return new SitemapFile(INDEX_NAME, content, etag(content), lastModified);
+    }
+
+    private static int shardNumber(SitemapFile shard) {
+        String name = shard.name();
+        return Integer.parseInt(name.substring("sitemap-".length(), name.length() - ".xml.gz".length()));
+    }
+
+    private static long toMillis(OffsetDateTime value) {
+        return value.truncatedTo(ChronoUnit.SECONDS).toInstant().toEpochMilli();
+    }
+
+    private static String etag(byte[] content) {
+        return "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+    }
+
+    private static String format(OffsetDateTime value) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static void escape(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&apos;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
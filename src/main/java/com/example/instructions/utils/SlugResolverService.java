@@ -2,14 +2,14 @@ package com.example.instructions.utils;
 
 import com.example.instructions.common.BadRequestException;
 import com.example.instructions.common.SlugGenerator;
-import com.example.instructions.domain.Article;
 import com.example.instructions.repo.ArticleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.HashSet;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -18,6 +18,19 @@ public class SlugResolverService {
 
     private final ArticleRepository articleRepository;
 
+    /**
+     * Подбирает свободный слаг: {@code base}, иначе наименьший свободный {@code base-N} начиная с 2.
+     * <p>
+     * Занятые слаги читаются одним запросом независимо от числа коллизий. Вызывается внутри
+     * транзакции сохранения: advisory-блокировка на базовый слаг держится до коммита, поэтому
+     * параллельные запросы с тем же слагом не получат одинаковый результат, а уникальный индекс
+     * {@code uniq_article_slug} остаётся последней защитой.
+     *
+     * @param providedSlug слаг из запроса или {@code null}
+     * @param title        заголовок, из которого слаг генерируется при отсутствии явного
+     * @param currentId    редактируемая статья или {@code null} для новой
+     * @return свободный слаг
+     */
     public String resolveSlug(String providedSlug, String title, UUID currentId) {
         String baseSlug;
         if (StringUtils.hasText(providedSlug)) {
@@ -30,14 +43,16 @@ public class SlugResolverService {
         if (!baseSlug.matches("^[a-z0-9-]+$")) {
             throw new BadRequestException("Недопустимый slug");
         }
-        String candidate = baseSlug;
+        articleRepository.lockSlug(baseSlug);
+        // В слаге только [a-z0-9-], экранировать символы LIKE не нужно.
+        Set<String> taken = new HashSet<>(articleRepository.findSlugsLike(baseSlug, baseSlug + "-%", currentId));
+        if (!taken.contains(baseSlug)) {
+            return baseSlug;
+        }
         int counter = 2;
-        while (true) {
-            Optional<Article> existing = articleRepository.findBySlug(candidate);
-            if (existing.isEmpty() || (currentId != null && existing.get().getId().equals(currentId))) {
-                return candidate;
-            }
-            candidate = baseSlug + "-" + counter++;
+        while (taken.contains(baseSlug + "-" + counter)) {
+            counter++;
         }
+        return baseSlug + "-" + counter;
     }
 }
@@ -0,0 +1,3 @@
+-- keyset-пагинация списка статей: ORDER BY updated_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_article_updated_at_id ON article (updated_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_article_status_updated_at_id ON article (status, updated_at DESC, id DESC);
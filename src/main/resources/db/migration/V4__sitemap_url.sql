@@ -0,0 +1,13 @@
+-- Адреса sitemap с закреплённым номером шарда: публикация меняет только строки своей статьи
+-- и перегенерирует только затронутые шарды.
+CREATE TABLE sitemap_url (
+    loc TEXT PRIMARY KEY,
+    kind VARCHAR(16) NOT NULL,
+    article_id UUID REFERENCES article(id) ON DELETE CASCADE,
+    lastmod TIMESTAMPTZ,
+    shard INTEGER NOT NULL
+);
+
+CREATE INDEX idx_sitemap_url_article_id ON sitemap_url (article_id);
+CREATE INDEX idx_sitemap_url_shard_loc ON sitemap_url (shard, loc);
+CREATE INDEX idx_sitemap_url_kind ON sitemap_url (kind);
@@ -0,0 +1,37 @@
+-- Слаги статей уникальны среди всех статусов (так их и выдаёт SlugResolverService);
+-- индекс закрепляет это на уровне БД и одновременно обслуживает префиксный поиск slug LIKE 'base-%'.
+
+-- Прежние слаги статей: по ним публичный API отвечает 301 на текущий адрес статьи.
+CREATE TABLE article_slug_history (
+    old_slug   VARCHAR(512) NOT NULL,
+    article_id UUID NOT NULL REFERENCES article (id) ON DELETE CASCADE,
+    new_slug   VARCHAR(512) NOT NULL,
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (old_slug, article_id)
+);
+
+-- Дубликаты, оставшиеся от гонок до появления индекса: слаг сохраняет опубликованная статья
+-- (прежний индекс был уникален только среди PUBLISHED, и её адрес уже в sitemap и внешних ссылках),
+-- при её отсутствии — самая ранняя; остальные получают суффикс из начала своего id.
+-- Каждое переименование записывается в article_slug_history: по таблице правку можно проверить
+-- и при необходимости откатить вручную, а ссылки на прежний слаг продолжают вести на статью.
+CREATE TEMPORARY TABLE article_slug_dedup ON COMMIT DROP AS
+SELECT id, slug AS old_slug, slug || '-' || substr(id::text, 1, 8) AS new_slug
+FROM (
+    SELECT id, slug,
+           row_number() OVER (PARTITION BY slug ORDER BY (status = 'PUBLISHED') DESC, created_at, id) AS rn
+    FROM article
+) d
+WHERE d.rn > 1;
+
+INSERT INTO article_slug_history (old_slug, article_id, new_slug)
+SELECT old_slug, id, new_slug FROM article_slug_dedup;
+
+UPDATE article a
+SET slug = d.new_slug
+FROM article_slug_dedup d
+WHERE a.id = d.id;
+
+CREATE UNIQUE INDEX uniq_article_slug ON article (slug text_pattern_ops);
+
+DROP INDEX IF EXISTS uniq_article_slug_published;
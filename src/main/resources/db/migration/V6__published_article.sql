@@ -0,0 +1,10 @@
+-- Read-model опубликованных статей: готовый к отдаче документ ArticleDto и оглавление TocDto.
+-- Пересобирается в транзакции публикации/изменения статьи, публичное чтение — одна выборка по ключу.
+CREATE TABLE published_article (
+    slug VARCHAR(512) PRIMARY KEY,
+    article_id UUID NOT NULL UNIQUE REFERENCES article(id) ON DELETE CASCADE,
+    version INTEGER NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    document JSONB NOT NULL,
+    toc JSONB NOT NULL
+);
@@ -0,0 +1,8 @@
+-- Теги опубликованных статей на момент последнего обновления sitemap: при правке статьи по ним видно,
+-- с каких тегов она ушла, и пересчитываются только страницы этих тегов. Внешних ключей нет намеренно —
+-- строки удалённой статьи нужны, чтобы убрать её теги.
+CREATE TABLE sitemap_article_tag (
+    article_id UUID NOT NULL,
+    tag_id UUID NOT NULL,
+    PRIMARY KEY (article_id, tag_id)
+);
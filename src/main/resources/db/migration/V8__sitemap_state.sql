@@ -0,0 +1,8 @@
+-- Состояние сохранённого sitemap: при старте шарды восстанавливаются из sitemap_url, если отпечаток
+-- настроек адресов совпадает, и догоняются статьями, изменёнными после synced_at.
+-- Миграция, меняющая смысл sitemap_url, удаляет эту строку — тогда старт перестроит sitemap целиком.
+CREATE TABLE sitemap_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    fingerprint VARCHAR(64) NOT NULL,
+    synced_at TIMESTAMPTZ NOT NULL
+);
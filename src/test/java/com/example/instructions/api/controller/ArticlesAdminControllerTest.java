@@ -10,6 +10,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.instructions.api.article.dto.ArticleCreateDto;
+import com.example.instructions.api.article.dto.ArticleListField;
+import com.example.instructions.api.article.dto.ArticleListItemDto;
 import com.example.instructions.api.article.dto.ArticleResponseDto;
 import com.example.instructions.api.article.dto.ArticleUpdateDto;
 import com.example.instructions.common.PageResponse;
@@ -18,6 +20,7 @@ import com.example.instructions.service.ArticleEditorService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import java.time.OffsetDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +47,7 @@ class ArticlesAdminControllerTest {
     private ArticleEditorService articleEditorService;
 
     private ArticleResponseDto responseDto;
+    private ArticleListItemDto listItem;
 
     @BeforeEach
     void setUp() {
@@ -59,6 +63,11 @@ class ArticlesAdminControllerTest {
         responseDto.setStatus(ArticleStatus.DRAFT);
         responseDto.setCreatedAt(OffsetDateTime.now());
         responseDto.setUpdatedAt(OffsetDateTime.now());
+
+        listItem = new ArticleListItemDto();
+        listItem.setId(responseDto.getId());
+        listItem.setTitle(responseDto.getTitle());
+        listItem.setSlug(responseDto.getSlug());
     }
 
     @Test
@@ -113,12 +122,55 @@ class ArticlesAdminControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void listArticles() throws Exception {
-        PageResponse<ArticleResponseDto> page = new PageResponse<>(List.of(responseDto), 0, 20, 1);
-        when(articleEditorService.list(null, null, 0, 20)).thenReturn(page);
+        PageResponse<ArticleListItemDto> page = new PageResponse<>(List.of(listItem), 0, 20, 1);
+        when(articleEditorService.list(null, null, 0, 20, EnumSet.allOf(ArticleListField.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/articles/list"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].slug").value("test-article"))
+                .andExpect(jsonPath("$.content[0].contentHtml").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listArticlesWithFields() throws Exception {
+        PageResponse<ArticleListItemDto> page = new PageResponse<>(List.of(listItem), 0, 20, 1);
+        when(articleEditorService.list(null, null, 0, 20, EnumSet.of(ArticleListField.ID, ArticleListField.TITLE)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/articles/list").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Test Article"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listArticlesRejectsOversizedPage() throws Exception {
+        mockMvc.perform(get("/api/v1/articles/list").param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listArticlesRejectsUnknownField() throws Exception {
+        mockMvc.perform(get("/api/v1/articles/list").param("fields", "contentHtml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listArticlesByCursor() throws Exception {
+        PageResponse<ArticleListItemDto> page = PageResponse.ofCursor(List.of(listItem), 1, "next");
+        when(articleEditorService.listByCursor(null, null, "", 1, EnumSet.allOf(ArticleListField.class)))
+                .thenReturn(page);
 
-        mockMvc.perform(get("/api/v1/articles"))
+        mockMvc.perform(get("/api/v1/articles/list").param("cursor", "").param("size", "1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].slug").value("test-article"));
+                .andExpect(jsonPath("$.content[0].slug").value("test-article"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
     }
 
     @Test
@@ -0,0 +1,311 @@
+package com.example.instructions.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.aayushatharva.brotli4j.decoder.DecoderJNI;
+import com.aayushatharva.brotli4j.decoder.DirectDecompress;
+import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.api.dto.ArticleSkeletonDto;
+import com.example.instructions.api.dto.SectionDto;
+import com.example.instructions.api.dto.TocDto;
+import com.example.instructions.api.mapper.ArticleMapper;
+import com.example.instructions.cache.RenderedResponseCache;
+import com.example.instructions.common.NotFoundException;
+import com.example.instructions.common.ServiceUnavailableException;
+import com.example.instructions.common.SlugMovedException;
+import com.example.instructions.config.CacheConfig;
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.repo.ArticleVersion;
+import com.example.instructions.service.ArticleEditorService;
+import com.example.instructions.service.ArticleJsonStreamer;
+import com.example.instructions.service.ArticleService;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(controllers = ArticlesPublicController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({CacheConfig.class, RenderedResponseCache.class})
+class ArticlesPublicControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ArticleService articleService;
+
+    @MockBean
+    private ArticleEditorService articleEditorService;
+
+    @MockBean
+    private ArticleMapper articleMapper;
+
+    @MockBean
+    private ArticleJsonStreamer articleJsonStreamer;
+
+    private ArticleDto article;
+
+    @BeforeEach
+    void setUp() {
+        article = new ArticleDto();
+        article.setId(UUID.randomUUID());
+        article.setSlug("welcome");
+        article.setTitle("Welcome");
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setVersion(3);
+        article.setBody("<p>" + "content ".repeat(500) + "</p>");
+        article.setUpdatedAt(OffsetDateTime.parse("2025-10-01T10:00:00Z"));
+        when(articleService.getPublishedVersion("welcome")).thenReturn(version());
+    }
+
+    @Test
+    void getBySlugReturnsJson() throws Exception {
+        when(articleService.getPublishedArticle("welcome")).thenReturn(article);
+
+        mockMvc.perform(get("/api/v1/articles/by-slug/welcome"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.slug").value("welcome"))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void getBySlugReturnsGzipWhenAccepted() throws Exception {
+        when(articleService.getPublishedArticle("welcome")).thenReturn(article);
+
+        byte[] body = mockMvc.perform(get("/api/v1/articles/by-slug/welcome")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("\"slug\":\"welcome\"");
+        }
+    }
+
+    @Test
+    void getBySlugPrefersBrotliWhenAccepted() throws Exception {
+        when(articleService.getPublishedArticle("welcome")).thenReturn(article);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/articles/by-slug/welcome")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        DirectDecompress decompressed = Decoder.decompress(result.getResponse().getContentAsByteArray());
+        assertThat(decompressed.getResultStatus()).isEqualTo(DecoderJNI.Status.DONE);
+        assertThat(new String(decompressed.getDecompressedData(), StandardCharsets.UTF_8))
+                .contains("\"slug\":\"welcome\"");
+
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/v1/articles/by-slug/welcome")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/articles/by-slug/welcome")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void redirectsFormerSlugToCurrentOne() throws Exception {
+        when(articleService.getPublishedVersion("welcome")).thenThrow(new SlugMovedException("welcome", "welcome-1a2b3c4d"));
+
+        mockMvc.perform(get("/api/v1/articles/by-slug/welcome/skeleton").queryParam("lang", "ru"))
+                .andExpect(status().isMovedPermanently())
+                .andExpect(header().string(HttpHeaders.LOCATION,
+                        "/api/v1/articles/by-slug/welcome-1a2b3c4d/skeleton?lang=ru"));
+    }
+
+    @Test
+    void getBySlugAnswersNotModifiedWithoutLoadingArticle() throws Exception {
+        when(articleService.getPublishedArticle("welcome")).thenReturn(article);
+        String etag = mockMvc.perform(get("/api/v1/articles/by-slug/welcome"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/articles/by-slug/welcome").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verify(articleService, times(1)).getPublishedArticle("welcome");
+    }
+
+    @Test
+    void gzipRepresentationHasItsOwnEtag() throws Exception {
+        when(articleService.getPublishedArticle("welcome")).thenReturn(article);
+        String etag = mockMvc.perform(get("/api/v1/articles/by-slug/welcome")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/articles/by-slug/welcome").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/articles/by-slug/welcome")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getTocAnswersNotModifiedWithoutBuildingToc() throws Exception {
+        when(articleService.getPublishedVersion(article.getId())).thenReturn(version());
+
+        mockMvc.perform(get("/api/v1/articles/" + article.getId() + "/toc")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Oct 2025 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(articleService, never()).getPublishedToc(article.getId());
+    }
+
+    @Test
+    void getTocIsRenderedOncePerVersion() throws Exception {
+        TocDto toc = new TocDto();
+        toc.setArticleId(article.getId());
+        when(articleService.getPublishedVersion(article.getId())).thenReturn(version());
+        when(articleService.getPublishedToc(article.getId())).thenReturn(toc);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/articles/" + article.getId() + "/toc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.articleId").value(article.getId().toString()));
+        }
+
+        verify(articleService, times(1)).getPublishedToc(article.getId());
+    }
+
+    @Test
+    void getSkeletonIsRenderedOncePerVersion() throws Exception {
+        ArticleSkeletonDto skeleton = new ArticleSkeletonDto();
+        skeleton.setId(article.getId());
+        skeleton.setSlug("welcome");
+        when(articleService.getPublishedSkeleton("welcome")).thenReturn(skeleton);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/articles/by-slug/welcome/skeleton"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andExpect(jsonPath("$.slug").value("welcome"))
+                    .andExpect(jsonPath("$.body").doesNotExist());
+        }
+
+        verify(articleService, times(1)).getPublishedSkeleton("welcome");
+    }
+
+    @Test
+    void chapterSectionsAreCachedPerChapter() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        SectionDto section = new SectionDto();
+        section.setChapterId(first);
+        section.setMarkdown("# Hello");
+        when(articleService.getPublishedVersion(article.getId())).thenReturn(version());
+        when(articleService.getPublishedSections(article.getId(), first)).thenReturn(List.of(section));
+        when(articleService.getPublishedSections(article.getId(), second)).thenReturn(List.of());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/articles/" + article.getId() + "/chapters/" + first + "/sections"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].markdown").value("# Hello"));
+            mockMvc.perform(get("/api/v1/articles/" + article.getId() + "/chapters/" + second + "/sections"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$").isEmpty());
+        }
+
+        verify(articleService, times(1)).getPublishedSections(article.getId(), first);
+        verify(articleService, times(1)).getPublishedSections(article.getId(), second);
+    }
+
+    @Test
+    void sectionsPageAnswersNotModifiedWithoutLoadingSections() throws Exception {
+        when(articleService.getPublishedVersion(article.getId())).thenReturn(version());
+
+        mockMvc.perform(get("/api/v1/articles/" + article.getId() + "/sections")
+                        .param("page", "1")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Oct 2025 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(articleService, never()).getPublishedSections(article.getId(), 1, 20);
+    }
+
+    @Test
+    void streamWritesArticleAsynchronously() throws Exception {
+        ArticleJsonStreamer.ArticleStream stream = mock(ArticleJsonStreamer.ArticleStream.class);
+        when(stream.version()).thenReturn(version());
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"slug\":\"welcome\"}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(stream).writeTo(any());
+        when(articleService.getPublishedVersion("welcome")).thenReturn(version());
+        when(articleJsonStreamer.open("welcome")).thenReturn(stream);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/articles/by-slug/welcome/stream"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"slug\":\"welcome\"}"));
+    }
+
+    @Test
+    void streamAnswersNotFoundBeforeStartingResponse() throws Exception {
+        when(articleService.getPublishedVersion("gone")).thenReturn(version());
+        when(articleJsonStreamer.open("gone")).thenThrow(new NotFoundException("Статья не найдена или не опубликована"));
+
+        mockMvc.perform(get("/api/v1/articles/by-slug/gone/stream"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamAnswersServiceUnavailableWhenAllPlacesAreTaken() throws Exception {
+        when(articleService.getPublishedVersion("welcome")).thenReturn(version());
+        when(articleJsonStreamer.open("welcome")).thenThrow(new ServiceUnavailableException("Слишком много"));
+
+        mockMvc.perform(get("/api/v1/articles/by-slug/welcome/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    private ArticleVersion version() {
+        return new ArticleVersion(article.getId(), article.getVersion(), article.getUpdatedAt());
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.instructions.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.instructions.AbstractIntegrationTest;
+import com.example.instructions.cache.PublishedArticleCache;
+import com.example.instructions.cache.RenderedResponseCache;
+import com.example.instructions.cache.SearchResultCache;
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.metrics.QueryCountFilter;
+import com.example.instructions.repo.ArticleRepository;
+import com.example.instructions.repo.PublishedArticleRepository;
+import com.example.instructions.service.PublishedArticleProjector;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Бюджеты SQL-выражений публичных эндпоинтов на холодных кэшах: тест падает, если обработка
+ * запроса начала догружать связи поштучно (N+1) или разбилась на лишние запросы.
+ * <p>
+ * Перед каждым случаем сбрасываются кэши статей, готовых ответов и поиска, а документ read-model
+ * статьи пересобирается: бюджет считается по холодному пути и не зависит от порядка случаев.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"app.query-count.header=true", "app.cache.search.enabled=false"})
+class PublicEndpointsQueryBudgetTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private PublishedArticleRepository publishedArticleRepository;
+
+    @Autowired
+    private PublishedArticleProjector publishedArticleProjector;
+
+    @Autowired
+    private PublishedArticleCache publishedArticleCache;
+
+    @Autowired
+    private RenderedResponseCache renderedResponseCache;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void coldCaches() {
+        publishedArticleCache.invalidateAll();
+        renderedResponseCache.invalidateAll();
+        searchResultCache.invalidateAll();
+        UUID welcomeId = welcomeId();
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> publishedArticleProjector.refresh(welcomeId));
+    }
+
+    @Test
+    void articleBySlug() throws Exception {
+        // Версия статьи и документ из read-model.
+        assertBudget(get("/api/v1/articles/by-slug/welcome"), 2);
+    }
+
+    @Test
+    void articleBySlugWithoutReadModel() throws Exception {
+        dropReadModel();
+        // Версия статьи, промах read-model и дерево статьи пятью запросами.
+        assertBudget(get("/api/v1/articles/by-slug/welcome"), 7);
+    }
+
+    @Test
+    void toc() throws Exception {
+        // Версия статьи и оглавление из read-model.
+        assertBudget(get("/api/v1/articles/" + welcomeId() + "/toc"), 2);
+    }
+
+    @Test
+    void tocWithoutReadModel() throws Exception {
+        dropReadModel();
+        // Версия статьи, промах read-model и строки оглавления.
+        assertBudget(get("/api/v1/articles/" + welcomeId() + "/toc"), 3);
+    }
+
+    @Test
+    void skeleton() throws Exception {
+        // Версия статьи, статья с тегами и оглавление.
+        assertBudget(get("/api/v1/articles/by-slug/welcome/skeleton"), 3);
+    }
+
+    @Test
+    void sectionsPage() throws Exception {
+        // Версия статьи и страница секций.
+        assertBudget(get("/api/v1/articles/" + welcomeId() + "/sections"), 2);
+    }
+
+    @Test
+    void search() throws Exception {
+        // Страница вместе с общим числом совпадений.
+        assertBudget(get("/api/v1/search").param("query", "welcome"), 1);
+    }
+
+    @Test
+    void list() throws Exception {
+        // Страница и count.
+        assertBudget(get("/api/v1/articles"), 2);
+    }
+
+    private UUID welcomeId() {
+        return articleRepository.findVersionBySlugAndStatus("welcome", ArticleStatus.PUBLISHED).orElseThrow().id();
+    }
+
+    private void dropReadModel() {
+        UUID welcomeId = welcomeId();
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> publishedArticleRepository.deleteByArticleId(welcomeId));
+    }
+
+    private void assertBudget(RequestBuilder request, int budget) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        String statements = result.getResponse().getHeader(QueryCountFilter.STATEMENTS_HEADER);
+        assertThat(statements).as("заголовок %s", QueryCountFilter.STATEMENTS_HEADER).isNotNull();
+        assertThat(Integer.parseInt(statements))
+                .as("SQL-выражений за %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(budget);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.instructions.api.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.example.instructions.api.dto.ArticleSkeletonDto;
+import com.example.instructions.domain.Article;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ArticleMapperTest {
+
+    private final ArticleMapper mapper = new ArticleMapperImpl();
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    void skeletonLeavesArticleHtmlOut() throws Exception {
+        Article article = new Article();
+        article.setId(UUID.randomUUID());
+        article.setTitle("Docker для разработчика");
+        article.setSlug("docker");
+        article.setContentHtml("<p>" + "x".repeat(10_000) + "</p>");
+        Article tracked = spy(article);
+
+        ArticleSkeletonDto skeleton = mapper.toSkeletonDto(tracked);
+
+        // ленивая группа content_html не должна загружаться ради каркаса
+        verify(tracked, never()).getContentHtml();
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(skeleton)).has("body")).isFalse();
+    }
+}
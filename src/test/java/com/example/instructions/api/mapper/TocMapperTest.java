@@ -0,0 +1,45 @@
+package com.example.instructions.api.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.instructions.api.dto.TocDto;
+import com.example.instructions.repo.TocRow;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TocMapperTest {
+
+    private final TocMapper mapper = new TocMapperImpl();
+
+    @Test
+    void groupsOrderedRowsIntoChapters() {
+        UUID articleId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        List<TocRow> rows = List.of(
+                new TocRow(first, "Введение", UUID.randomUUID(), "Зачем"),
+                new TocRow(first, "Введение", UUID.randomUUID(), "Как читать"),
+                new TocRow(second, "Пустая глава", null, null),
+                new TocRow(third, "Итоги", UUID.randomUUID(), "Выводы"));
+
+        TocDto toc = mapper.fromRows(articleId, rows);
+
+        assertThat(toc.getArticleId()).isEqualTo(articleId);
+        assertThat(toc.getItems()).extracting("chapterId").containsExactly(first, second, third);
+        assertThat(toc.getItems().get(0).getSections()).extracting("sectionTitle")
+                .containsExactly("Зачем", "Как читать");
+        assertThat(toc.getItems().get(1).getSections()).isEmpty();
+        assertThat(toc.getItems().get(2).getSections()).hasSize(1);
+    }
+
+    @Test
+    void articleWithoutChaptersHasEmptyToc() {
+        UUID articleId = UUID.randomUUID();
+
+        TocDto toc = mapper.fromRows(articleId, List.of(new TocRow(null, null, null, null)));
+
+        assertThat(toc.getItems()).isEmpty();
+    }
+}
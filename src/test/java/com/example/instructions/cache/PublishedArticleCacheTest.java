@@ -0,0 +1,62 @@
+package com.example.instructions.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.service.PublishedArticleChangedEvent;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PublishedArticleCacheTest {
+
+    private PublishedArticleCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublishedArticleCache(new CacheProperties());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        cache.get("welcome", this::load);
+        cache.get("welcome", this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsOnlyChangedSlugs() {
+        cache.get("welcome", this::load);
+        cache.get("other", this::load);
+
+        cache.onPublishedArticleChanged(PublishedArticleChangedEvent.of(UUID.randomUUID(), "welcome"));
+
+        assertThat(cache.getIfPresent("welcome")).isEmpty();
+        assertThat(cache.getIfPresent("other")).isPresent();
+    }
+
+    @Test
+    void doesNotStoreArticleLoadedDuringInvalidation() {
+        cache.get("welcome", slug -> {
+            cache.onPublishedArticleChanged(PublishedArticleChangedEvent.of(UUID.randomUUID(), slug));
+            return load(slug);
+        });
+
+        assertThat(cache.getIfPresent("welcome")).isEmpty();
+    }
+
+    private ArticleDto load(String slug) {
+        loads.incrementAndGet();
+        ArticleDto dto = new ArticleDto();
+        dto.setId(UUID.randomUUID());
+        dto.setSlug(slug);
+        dto.setBody("<p>body</p>");
+        return dto;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.instructions.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.instructions.api.dto.SearchResultDto;
+import com.example.instructions.common.PageResponse;
+import com.example.instructions.service.PublishedArticleChangedEvent;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SearchResultCacheTest {
+
+    private SearchResultCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(new CacheProperties());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void normalizesQuery() {
+        assertThat(SearchResultCache.normalize("  Spring \t  BOOT\n")).isEqualTo("spring boot");
+    }
+
+    @Test
+    void servesRepeatedQueriesFromCache() {
+        cache.get("spring", 0, 20, null, this::load);
+        cache.get("spring", 0, 20, null, this::load);
+        cache.get("spring", 1, 20, null, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void flushesOnPublishedArticleChange() {
+        cache.get("spring", 0, 20, null, this::load);
+
+        cache.onPublishedArticleChanged(PublishedArticleChangedEvent.of(UUID.randomUUID(), "welcome"));
+        cache.get("spring", 0, 20, null, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void doesNotStoreResultLoadedDuringInvalidation() {
+        cache.get("spring", 0, 20, null, () -> {
+            cache.onPublishedArticleChanged(PublishedArticleChangedEvent.of(UUID.randomUUID(), "welcome"));
+            return load();
+        });
+        cache.get("spring", 0, 20, null, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void weighsPagesByResultContent() {
+        SearchResultCache.Key key = new SearchResultCache.Key("spring", 0, 20, null);
+        SearchResultDto large = new SearchResultDto();
+        large.setSnippet("x".repeat(10_000));
+
+        int small = SearchResultCache.weighPage(key, load());
+        int big = SearchResultCache.weighPage(key, new PageResponse<>(List.of(large, large), 0, 20, 2));
+
+        assertThat(big).isGreaterThan(small + 40_000);
+    }
+
+    private PageResponse<SearchResultDto> load() {
+        loads.incrementAndGet();
+        return new PageResponse<>(List.of(new SearchResultDto()), 0, 20, 1);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.instructions.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.instructions.repo.ArticleKeyset;
+import com.example.instructions.search.SearchKeyset;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CursorCodecTest {
+
+    @Test
+    void articleKeysetRoundTrip() {
+        ArticleKeyset keyset = new ArticleKeyset(OffsetDateTime.parse("2025-10-01T10:00:00.123456Z"), UUID.randomUUID());
+
+        assertThat(ArticleKeyset.fromCursor(keyset.toCursor())).isEqualTo(keyset);
+    }
+
+    @Test
+    void searchKeysetRoundTripKeepsExactRank() {
+        SearchKeyset keyset = new SearchKeyset(0.1f / 3, "Заголовок | с разделителями", UUID.randomUUID());
+
+        assertThat(SearchKeyset.fromCursor(keyset.toCursor())).isEqualTo(keyset);
+    }
+
+    @Test
+    void emptyCursorMeansFirstPage() {
+        assertThat(ArticleKeyset.fromCursor("")).isNull();
+    }
+
+    @Test
+    void rejectsCursorOfAnotherList() {
+        String searchCursor = new SearchKeyset(1f, "title", UUID.randomUUID()).toCursor();
+
+        assertThatThrownBy(() -> ArticleKeyset.fromCursor(searchCursor)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> ArticleKeyset.fromCursor("%%%")).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.instructions.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SlugGeneratorTest {
+
+    /** Символы, на которых прежняя реализация ведёт себя по-особому: регистр, диакритика, пробелы, разделители. */
+    private static final String ALPHABET =
+            "abcXYZ019 -_\t\n\u000B\f\r !?.,'\"/\\"
+                    + "абвгдеёжзийклмнопрстуфхцчшщъыьэюяАБВГДЕЁЖЗИЙКЛМНОПРСТУФХЦЧШЩЪЫЬЭЮЯ"
+                    + "ÀÉîõüçñßÆøİıKKǅẞẠếΣσς中文😀";
+
+    @Test
+    void transliteratesCyrillicAndCollapsesSeparators() {
+        assertThat(SlugGenerator.fromText("  Щи да  каша — пища наша!  ")).isEqualTo("schi-da-kasha-pischa-nasha");
+        assertThat(SlugGenerator.fromText("Ёжик в тумане")).isEqualTo("ezhik-v-tumane");
+        assertThat(SlugGenerator.fromText("Café Crème 2.0")).isEqualTo("cafe-creme-20");
+    }
+
+    @Test
+    void stripsTrailingSeparator() {
+        assertThat(SlugGenerator.fromText("Docker - ")).isEqualTo("docker");
+        assertThat(SlugGenerator.fromText("---")).isEmpty();
+    }
+
+    @Test
+    void rejectsBlankInput() {
+        assertThatThrownBy(() -> SlugGenerator.fromText(" \t"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void matchesLegacyImplementationOnRandomInput() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String input = randomText(random);
+            if (input.isBlank()) {
+                continue;
+            }
+            assertThat(SlugGenerator.fromText(input))
+                    .as("input %s", input)
+                    .isEqualTo(withoutTrailingDash(LegacySlugGenerator.fromText(input)));
+        }
+    }
+
+    @Test
+    void matchesLegacyImplementationOnEveryBmpCharacter() {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            String input = "a" + (char) c + "b";
+            assertThat(SlugGenerator.fromText(input))
+                    .as("char U+%04X", c)
+                    .isEqualTo(withoutTrailingDash(LegacySlugGenerator.fromText(input)));
+        }
+    }
+
+    private static String randomText(Random random) {
+        int length = 1 + random.nextInt(24);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    /** Прежняя реализация оставляла завершающий дефис; новая его убирает. */
+    private static String withoutTrailingDash(String slug) {
+        return slug.endsWith("-") ? slug.substring(0, slug.length() - 1) : slug;
+    }
+}
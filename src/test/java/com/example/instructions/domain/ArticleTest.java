@@ -0,0 +1,35 @@
+package com.example.instructions.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ArticleTest {
+
+    @Test
+    void equalityIsBasedOnIdOnly() {
+        UUID id = UUID.randomUUID();
+        Article first = article(id, "<p>первая версия</p>");
+        Article second = article(id, "<p>вторая версия</p>");
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(Set.of(first, article(UUID.randomUUID(), "<p>другая</p>"))).hasSize(2);
+    }
+
+    @Test
+    void unsavedArticlesAreEqualOnlyToThemselves() {
+        Article first = new Article();
+        Article second = new Article();
+
+        assertThat(first).isEqualTo(first).isNotEqualTo(second);
+    }
+
+    private static Article article(UUID id, String html) {
+        Article article = new Article();
+        article.setId(id);
+        article.setContentHtml(html);
+        return article;
+    }
+}
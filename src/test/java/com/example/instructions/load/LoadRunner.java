@@ -0,0 +1,115 @@
+package com.example.instructions.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Прогон запросов к одному эндпоинту с фиксированным числом параллельных клиентов.
+ * <p>
+ * Каждый клиент в цикле берёт следующий номер запроса и ждёт ответа перед следующим
+ * (закрытая модель нагрузки), время ответа замеряется до полного чтения тела.
+ */
+final class LoadRunner {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final int concurrency;
+
+    LoadRunner(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Выполняет {@code requests} запросов и возвращает распределение задержек.
+     *
+     * @param endpoint имя эндпоинта для отчёта
+     * @param requests число запросов
+     * @param uris     адрес запроса по его номеру
+     * @return результат прогона
+     */
+    LoadResult run(String endpoint, int requests, IntFunction<URI> uris) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    for (int n = next.getAndIncrement(); n < requests; n = next.getAndIncrement()) {
+                        HttpRequest request = HttpRequest.newBuilder(uris.apply(n))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException ex) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[n] = System.nanoTime() - start;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Клиент нагрузки завершился с ошибкой", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - started;
+        Arrays.sort(latencies);
+        return new LoadResult(endpoint, requests, errors.get(),
+                percentileMillis(latencies, 50), percentileMillis(latencies, 95), percentileMillis(latencies, 99),
+                requests / (elapsed / 1_000_000_000.0));
+    }
+
+    /**
+     * Перцентиль по рангу ближайшего значения в отсортированном массиве.
+     */
+    static double percentileMillis(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    /**
+     * Итог прогона одного эндпоинта.
+     *
+     * @param endpoint   имя эндпоинта
+     * @param requests   число запросов
+     * @param errors     ответы не 200 и сетевые ошибки
+     * @param p50Ms      медиана задержки, мс
+     * @param p95Ms      95-й перцентиль, мс
+     * @param p99Ms      99-й перцентиль, мс
+     * @param throughput запросов в секунду
+     */
+    record LoadResult(String endpoint, int requests, int errors, double p50Ms, double p95Ms, double p99Ms,
+                      double throughput) {
+    }
+}
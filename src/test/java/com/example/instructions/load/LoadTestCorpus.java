@@ -0,0 +1,113 @@
+package com.example.instructions.load;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Массовое заполнение базы синтетическим корпусом статей.
+ * <p>
+ * Строки генерируются на стороне PostgreSQL через {@code generate_series}, поэтому миллион секций
+ * вставляется несколькими запросами без передачи данных по сети. Содержимое детерминировано номером
+ * статьи: повторный прогон на том же объёме даёт тот же корпус.
+ */
+final class LoadTestCorpus {
+
+    static final String CREATED_BY = "load-test";
+
+    private static final String[] TAGS = {"docker", "linux", "postgresql", "nginx", "java", "kubernetes", "git", "backup"};
+
+    private static final String[] TOPICS = {
+            "установка Docker", "настройка nginx", "резервное копирование PostgreSQL", "сборка Java-проекта",
+            "развёртывание в Kubernetes", "работа с Git", "мониторинг сервера", "обновление Linux"
+    };
+
+    private static final String[] PARAGRAPHS = {
+            "Установите пакет и проверьте версию командой `docker --version`.",
+            "## Настройка\\n\\nОткройте файл **config.yml** и укажите адрес сервера.",
+            "- Создайте пользователя\\n- Выдайте права\\n- Перезапустите службу",
+            "См. [документацию](https://example.com/docs) по параметрам подключения.",
+            "```bash\\nsudo systemctl restart nginx\\n```",
+            "Если команда завершилась ошибкой, проверьте журнал `journalctl -u app` и права на каталог."
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestSettings settings;
+
+    LoadTestCorpus(JdbcTemplate jdbcTemplate, LoadTestSettings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = settings;
+    }
+
+    /**
+     * Заполняет теги, статьи, главы и секции и обновляет статистику планировщика.
+     */
+    void seed() {
+        jdbcTemplate.update("INSERT INTO tag (name, slug) SELECT t, t FROM unnest(?::text[]) t ON CONFLICT DO NOTHING",
+                (Object) TAGS);
+        jdbcTemplate.update("""
+                INSERT INTO article (title, slug, summary, tags, content_html, status, version, created_by,
+                                     created_at, updated_at)
+                SELECT 'Инструкция ' || g || ': ' || topics[1 + g % cardinality(topics)],
+                       'load-' || g,
+                       'Пошаговое руководство: ' || topics[1 + g % cardinality(topics)],
+                       ARRAY[tags[1 + g % cardinality(tags)], tags[1 + (g / 7) % cardinality(tags)]],
+                       '<p>' || topics[1 + g % cardinality(topics)] || '</p>',
+                       'PUBLISHED', 1, ?,
+                       now() - g * interval '1 minute', now() - g * interval '1 minute'
+                FROM generate_series(1, ?) g, (SELECT ?::text[] AS topics, ?::text[] AS tags) v
+                """, CREATED_BY, settings.articles(), TOPICS, TAGS);
+        jdbcTemplate.update("""
+                INSERT INTO article_tag (article_id, tag_id)
+                SELECT DISTINCT a.id, t.id
+                FROM article a JOIN tag t ON t.slug = ANY (a.tags)
+                WHERE a.created_by = ?
+                """, CREATED_BY);
+        jdbcTemplate.update("""
+                INSERT INTO chapter (article_id, title, order_index)
+                SELECT a.id, 'Глава ' || (c + 1), c
+                FROM article a CROSS JOIN generate_series(0, ? - 1) c
+                WHERE a.created_by = ?
+                """, settings.chapters(), CREATED_BY);
+        jdbcTemplate.update("""
+                INSERT INTO section (chapter_id, title, order_index, markdown)
+                SELECT ch.id,
+                       'Раздел ' || (ch.order_index + 1) || '.' || (s + 1),
+                       s,
+                       left(repeat(replace(paragraphs[1 + (abs(hashtext(ch.id::text)::bigint) + s) % cardinality(paragraphs)]
+                                           || ' ' || topics[1 + (abs(hashtext(ch.id::text)::bigint) / 7 + s) % cardinality(topics)],
+                                           '\\n', E'\\n') || E'\\n\\n',
+                                   ? / 40 + 1), ?)
+                FROM chapter ch
+                JOIN article a ON a.id = ch.article_id
+                CROSS JOIN generate_series(0, ? - 1) s,
+                (SELECT ?::text[] AS paragraphs, ?::text[] AS topics) v
+                WHERE a.created_by = ?
+                """, settings.markdownLength(), settings.markdownLength(), settings.sectionsPerChapter(),
+                PARAGRAPHS, TOPICS, CREATED_BY);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Случайная выборка идентификаторов статей корпуса для запросов по id.
+     */
+    List<UUID> sampleIds(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM article WHERE created_by = ? ORDER BY random() LIMIT ?", UUID.class, CREATED_BY, limit);
+    }
+
+    /**
+     * Слаг статьи корпуса по её номеру (нумерация с единицы).
+     */
+    static String slug(int number) {
+        return "load-" + number;
+    }
+
+    /**
+     * Поисковые запросы, встречающиеся в корпусе.
+     */
+    static List<String> queries() {
+        return List.of("docker", "nginx", "postgresql", "kubernetes", "git", "journalctl", "config", "пользователя",
+                "резервное копирование", "права каталог");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.instructions.load;
+
+/**
+ * Параметры нагрузочного прогона; переопределяются системными свойствами {@code -Dload.*}.
+ *
+ * @param articles           число опубликованных статей в корпусе
+ * @param chapters           глав в статье
+ * @param sectionsPerChapter секций в главе
+ * @param markdownLength     длина markdown секции в символах
+ * @param concurrency        число одновременных клиентов
+ * @param requests           запросов на эндпоинт в измеряемой фазе
+ * @param warmupRequests     запросов на эндпоинт в прогреве, в отчёт не попадают
+ */
+record LoadTestSettings(int articles,
+                        int chapters,
+                        int sectionsPerChapter,
+                        int markdownLength,
+                        int concurrency,
+                        int requests,
+                        int warmupRequests) {
+
+    /**
+     * Значения по умолчанию дают корпус в 100 тысяч статей и 1 миллион секций.
+     */
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.articles", 100_000),
+                Integer.getInteger("load.chapters", 2),
+                Integer.getInteger("load.sections-per-chapter", 5),
+                Integer.getInteger("load.markdown-length", 2_000),
+                Integer.getInteger("load.concurrency", 16),
+                Integer.getInteger("load.requests", 5_000),
+                Integer.getInteger("load.warmup-requests", 500)
+        );
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.instructions.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.instructions.AbstractIntegrationTest;
+import com.example.instructions.service.SitemapService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Нагрузочный прогон публичных эндпоинтов на большом синтетическом корпусе.
+ * <p>
+ * Исключён из обычной сборки тегом {@code load}; запуск: {@code mvn -Pload test [-Dload.articles=10000 ...]}.
+ * Результаты печатаются таблицей и пишутся в {@code target/load-test-report.json}; вместе с задержками
+ * пишется среднее время удержания соединения из пула ({@code hikaricp.connections.usage}) на эндпоинт.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PublicEndpointsLoadTest extends AbstractIntegrationTest {
+
+    private static final Path REPORT = Path.of("target", "load-test-report.json");
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SitemapService sitemapService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<UUID> articleIds;
+
+    @BeforeAll
+    void seedCorpus() {
+        LoadTestCorpus corpus = new LoadTestCorpus(jdbcTemplate, settings);
+        corpus.seed();
+        sitemapService.generateSitemap();
+        articleIds = corpus.sampleIds(10_000);
+    }
+
+    @Test
+    void publicEndpoints() throws Exception {
+        List<String> queries = LoadTestCorpus.queries();
+        Map<String, IntFunction<URI>> endpoints = Map.of(
+                "by-slug", n -> uri("/api/v1/articles/by-slug/" + LoadTestCorpus.slug(1 + scatter(n) % settings.articles())),
+                "toc", n -> uri("/api/v1/articles/" + articleIds.get(scatter(n) % articleIds.size()) + "/toc"),
+                "search", n -> uri("/api/v1/search?query=" + URLEncoder.encode(queries.get(n % queries.size()), StandardCharsets.UTF_8)
+                        + "&page=" + (n / queries.size()) % 5),
+                "list", n -> uri("/api/v1/articles?page=" + n % 50 + "&size=20"),
+                "sitemap.xml", n -> uri("/sitemap.xml")
+        );
+
+        LoadRunner runner = new LoadRunner(settings.concurrency());
+        List<LoadRunner.LoadResult> results = new ArrayList<>();
+        Map<String, ConnectionUsage> connectionUsage = new LinkedHashMap<>();
+        for (String endpoint : List.of("by-slug", "toc", "search", "list", "sitemap.xml")) {
+            runner.run(endpoint, settings.warmupRequests(), endpoints.get(endpoint));
+            ConnectionUsage before = connectionUsage();
+            results.add(runner.run(endpoint, settings.requests(), endpoints.get(endpoint)));
+            connectionUsage.put(endpoint, connectionUsage().minus(before, settings.requests()));
+        }
+
+        report(results, connectionUsage);
+        assertThat(results).allSatisfy(result -> assertThat(result.errors()).as(result.endpoint()).isZero());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Разбрасывает последовательные номера запросов по корпусу, чтобы не читать одни и те же статьи подряд.
+     */
+    private static int scatter(int n) {
+        return (n * 0x9E3779B1) >>> 1;
+    }
+
+    /**
+     * Удержание соединений пула за прогон.
+     *
+     * @param checkouts выдачи соединений (на запрос — после {@link #minus})
+     * @param totalMs   суммарное время удержания
+     * @param meanMs    среднее время одной выдачи
+     */
+    record ConnectionUsage(double checkouts, double totalMs, double meanMs) {
+
+        ConnectionUsage minus(ConnectionUsage before, int requests) {
+            double count = checkouts - before.checkouts;
+            double total = totalMs - before.totalMs;
+            return new ConnectionUsage(count / requests, total, count > 0 ? total / count : 0);
+        }
+    }
+
+    private ConnectionUsage connectionUsage() {
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+        if (usage == null) {
+            return new ConnectionUsage(0, 0, 0);
+        }
+        return new ConnectionUsage(usage.count(), usage.totalTime(TimeUnit.MILLISECONDS), usage.mean(TimeUnit.MILLISECONDS));
+    }
+
+    private void report(List<LoadRunner.LoadResult> results, Map<String, ConnectionUsage> connectionUsage)
+            throws IOException {
+        StringBuilder table = new StringBuilder(String.format("%n%-12s %8s %6s %9s %9s %9s %10s %10s %9s%n",
+                "endpoint", "requests", "errors", "p50, ms", "p95, ms", "p99, ms", "req/s", "conn/req", "hold, ms"));
+        for (LoadRunner.LoadResult result : results) {
+            ConnectionUsage usage = connectionUsage.get(result.endpoint());
+            table.append(String.format("%-12s %8d %6d %9.2f %9.2f %9.2f %10.1f %10.2f %9.3f%n", result.endpoint(),
+                    result.requests(), result.errors(), result.p50Ms(), result.p95Ms(), result.p99Ms(),
+                    result.throughput(), usage.checkouts(), usage.meanMs()));
+        }
+        System.out.println(table);
+
+        Files.createDirectories(REPORT.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(REPORT.toFile(), Map.of("settings", settings, "results", results,
+                        "connectionUsage", connectionUsage));
+    }
+}
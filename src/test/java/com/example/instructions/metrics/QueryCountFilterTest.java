@@ -0,0 +1,59 @@
+package com.example.instructions.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryCountProperties properties = new QueryCountProperties();
+
+    /** Имитирует обработчик, который выполнил два SQL-выражения и загрузил одну сущность. */
+    private final FilterChain chain = (request, response) -> {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/articles/by-slug/{slug}");
+        QueryCounter.INSTANCE.inspect("select 1");
+        QueryCounter.INSTANCE.inspect("select 2");
+        QueryCounter.INSTANCE.onLoad(new Object(), (Object) 1L, null, null, null);
+        response.getWriter().write("{}");
+    };
+
+    @Test
+    void recordsStatementsPerRoute() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryCountFilter(registry, properties).doFilter(new MockHttpServletRequest("GET", "/x"), response, chain);
+
+        assertThat(registry.get("app.db.statements").tag("uri", "/api/v1/articles/by-slug/{slug}").summary().totalAmount())
+                .isEqualTo(2);
+        assertThat(registry.get("app.db.entities").summary().totalAmount()).isEqualTo(1);
+        assertThat(response.getHeader(QueryCountFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    void exposesHeadersWhenEnabled() throws Exception {
+        properties.setHeader(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryCountFilter(registry, properties).doFilter(new MockHttpServletRequest("GET", "/x"), response, chain);
+
+        assertThat(response.getHeader(QueryCountFilter.STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(QueryCountFilter.ENTITIES_HEADER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+    }
+
+    @Test
+    void countsNothingOutsideRequest() {
+        QueryCounter.INSTANCE.inspect("select 1");
+
+        assertThat(QueryCounter.current()).isEqualTo(new QueryCount(0, 0));
+        assertThat(QueryCounter.count(() -> QueryCounter.INSTANCE.inspect("select 1")))
+                .isEqualTo(new QueryCount(1, 0));
+    }
+}
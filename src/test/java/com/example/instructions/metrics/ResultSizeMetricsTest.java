@@ -0,0 +1,35 @@
+package com.example.instructions.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ResultSizeMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ResultSizeMetrics metrics = new ResultSizeMetrics(registry);
+
+    @Test
+    void contentBytesCountsUtf8WithoutEncoding() {
+        String html = "<p>Привет, мир 😀</p>";
+
+        metrics.contentBytes(html);
+
+        DistributionSummary summary = registry.get(ResultSizeMetrics.CONTENT_BYTES).summary();
+        assertThat(summary.totalAmount()).isEqualTo(html.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void rowsAreTaggedByQuery() {
+        metrics.rows("search", 20);
+        metrics.rows("search", 5);
+        metrics.rows("article_list", 1);
+
+        DistributionSummary search = registry.get(ResultSizeMetrics.ROWS).tag("query", "search").summary();
+        assertThat(search.count()).isEqualTo(2);
+        assertThat(search.totalAmount()).isEqualTo(25);
+    }
+}
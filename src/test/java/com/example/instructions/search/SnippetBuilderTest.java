@@ -0,0 +1,51 @@
+package com.example.instructions.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SnippetBuilderTest {
+
+    @Test
+    void stripsMarkdownAndHighlightsEveryTerm() {
+        Snippet snippet = SnippetBuilder.build("## Установка\n\n**Spring**   Boot и `spring` CLI",
+                SnippetBuilder.terms("spring boot"));
+
+        assertThat(snippet.text()).isEqualTo("Установка Spring Boot и spring CLI");
+        assertThat(highlighted(snippet)).containsExactly("Spring", "Boot", "spring");
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        Snippet snippet = SnippetBuilder.build("Springfield is not spring.", List.of("spring"));
+
+        assertThat(highlighted(snippet)).containsExactly("spring");
+    }
+
+    @Test
+    void centersLongTextOnFirstMatch() {
+        String raw = "вступление ".repeat(40) + "Docker compose " + "хвост ".repeat(100);
+
+        Snippet snippet = SnippetBuilder.build(raw, SnippetBuilder.terms("docker"));
+
+        assertThat(snippet.text()).endsWith("...");
+        assertThat(snippet.text().length()).isLessThanOrEqualTo(SnippetBuilder.MAX_LENGTH + 3);
+        assertThat(highlighted(snippet)).containsExactly("Docker");
+        assertThat(snippet.highlights().get(0).start()).isLessThanOrEqualTo(SnippetBuilder.CONTEXT_BEFORE);
+    }
+
+    @Test
+    void fallsBackToTextStartWithoutMatch() {
+        Snippet snippet = SnippetBuilder.build("слово ".repeat(100), List.of("docker"));
+
+        assertThat(snippet.text()).startsWith("слово слово").endsWith("...");
+        assertThat(snippet.highlights()).isEmpty();
+    }
+
+    private static List<String> highlighted(Snippet snippet) {
+        return snippet.highlights().stream()
+                .map(highlight -> snippet.text().substring(highlight.start(), highlight.end()))
+                .toList();
+    }
+}
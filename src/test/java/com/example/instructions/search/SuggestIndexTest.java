@@ -0,0 +1,103 @@
+package com.example.instructions.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SuggestIndexTest {
+
+    private final UUID springId = UUID.randomUUID();
+    private final UUID dockerId = UUID.randomUUID();
+
+    private SuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestIndex();
+        index.rebuild(List.of(
+                article(springId, "Spring Boot: первые шаги", "spring-boot"),
+                section(springId, "Настройка Spring Security", "spring-boot"),
+                article(dockerId, "Docker для разработчика", "docker")
+        ));
+    }
+
+    @Test
+    void matchesWordPrefixesCaseInsensitively() {
+        assertThat(titles(index.suggest("SPR", 10)))
+                .containsExactly("Spring Boot: первые шаги", "Настройка Spring Security");
+    }
+
+    @Test
+    void requiresEveryQueryWordToMatch() {
+        assertThat(titles(index.suggest("spring sec", 10))).containsExactly("Настройка Spring Security");
+        assertThat(titles(index.suggest("перв", 10))).containsExactly("Spring Boot: первые шаги");
+        assertThat(index.suggest("spring docker", 10)).isEmpty();
+    }
+
+    @Test
+    void findsMatchBehindManyTitlesSharingTheFirstWord() {
+        // 676 слов на уровень короче искомого: обход в ширину доходит до него последним
+        List<SuggestSource> sources = new ArrayList<>();
+        for (char first = 'a'; first <= 'z'; first++) {
+            for (char second = 'a'; second <= 'z'; second++) {
+                String word = "Spring" + first + second;
+                sources.add(article(UUID.randomUUID(), word + " guide", word.toLowerCase()));
+            }
+        }
+        sources.add(article(UUID.randomUUID(), "Springzzz Kafka", "springzzz-kafka"));
+        index.rebuild(sources);
+
+        assertThat(titles(index.suggest("spring kaf", 10))).containsExactly("Springzzz Kafka");
+    }
+
+    @Test
+    void ranksArticleDeepInTrieAheadOfShallowSections() {
+        List<SuggestSource> sources = new ArrayList<>();
+        for (char first = 'a'; first <= 'z'; first++) {
+            for (char second = 'a'; second <= 'z'; second++) {
+                sources.add(section(springId, "Spring" + first + second, "spring-boot"));
+            }
+        }
+        sources.add(article(dockerId, "Springzzz", "springzzz"));
+        index.rebuild(sources);
+
+        List<SuggestSource> suggestions = index.suggest("spr", 3);
+
+        assertThat(suggestions).hasSize(3);
+        assertThat(suggestions.get(0).title()).isEqualTo("Springzzz");
+    }
+
+    @Test
+    void appliesLimit() {
+        assertThat(index.suggest("spring", 1)).hasSize(1);
+    }
+
+    @Test
+    void replacesAndRemovesArticleTitles() {
+        index.replace(springId, List.of(article(springId, "Spring Data JPA", "spring-data")));
+
+        assertThat(titles(index.suggest("spr", 10))).containsExactly("Spring Data JPA");
+        assertThat(index.suggest("security", 10)).isEmpty();
+
+        index.replace(springId, List.of());
+
+        assertThat(index.suggest("spr", 10)).isEmpty();
+        assertThat(index.articleCount()).isEqualTo(1);
+    }
+
+    private static List<String> titles(List<SuggestSource> sources) {
+        return sources.stream().map(SuggestSource::title).toList();
+    }
+
+    private static SuggestSource article(UUID id, String title, String slug) {
+        return new SuggestSource("article", id, id, title, slug);
+    }
+
+    private static SuggestSource section(UUID articleId, String title, String slug) {
+        return new SuggestSource("section", UUID.randomUUID(), articleId, title, slug);
+    }
+}
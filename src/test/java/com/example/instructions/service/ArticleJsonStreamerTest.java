@@ -0,0 +1,189 @@
+package com.example.instructions.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.instructions.api.dto.ArticleDto;
+import com.example.instructions.api.dto.ChapterDto;
+import com.example.instructions.api.dto.SectionDto;
+import com.example.instructions.api.dto.TagDto;
+import com.example.instructions.common.ConflictException;
+import com.example.instructions.common.NotFoundException;
+import com.example.instructions.common.ServiceUnavailableException;
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.repo.ArticleHeaderRow;
+import com.example.instructions.repo.ArticleStreamRepository;
+import com.example.instructions.repo.SectionRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ArticleJsonStreamerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ArticleStreamRepository repository = mock(ArticleStreamRepository.class);
+    private final ArticleJsonStreamer streamer = streamer(4);
+
+    @Test
+    void writesSameJsonAsArticleDto() throws Exception {
+        ArticleDto expected = article();
+        TagDto tag = expected.getTags().get(0);
+        when(repository.findPublishedHeader("guide")).thenReturn(Optional.of(new ArticleHeaderRow(
+                expected.getId(), expected.getTitle(), expected.getSlug(), expected.getStatus(),
+                expected.getVersion(), expected.getDescription(), expected.getUpdatedAt(),
+                objectMapper.writeValueAsString(List.of(tag)))));
+        when(repository.isPublishedVersion(expected.getId(), expected.getVersion())).thenReturn(true);
+        stubContentHtml(expected.getId(), expected.getBody());
+        doAnswer(invocation -> {
+            Consumer<SectionRow> action = invocation.getArgument(1);
+            for (ChapterDto chapter : expected.getChapters()) {
+                if (chapter.getSections().isEmpty()) {
+                    action.accept(new SectionRow(chapter.getId(), chapter.getTitle(), chapter.getOrderIndex(),
+                            null, null, 0, null));
+                }
+                for (SectionDto section : chapter.getSections()) {
+                    action.accept(new SectionRow(chapter.getId(), chapter.getTitle(), chapter.getOrderIndex(),
+                            section.getId(), section.getTitle(), section.getOrderIndex(), section.getMarkdown()));
+                }
+            }
+            return null;
+        }).when(repository).forEachSection(eq(expected.getId()), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.open("guide").writeTo(out);
+
+        assertThat(objectMapper.readTree(out.toByteArray()))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(expected)));
+    }
+
+    @Test
+    void readsLongContentHtmlInChunks() throws Exception {
+        ArticleDto expected = article();
+        expected.setBody("<p>" + "текст 😀 ".repeat(ArticleJsonStreamer.CONTENT_CHUNK / 4) + "</p>");
+        expected.getChapters().clear();
+        when(repository.findPublishedHeader("guide")).thenReturn(Optional.of(header(expected)));
+        when(repository.isPublishedVersion(expected.getId(), expected.getVersion())).thenReturn(true);
+        stubContentHtml(expected.getId(), expected.getBody());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.open("guide").writeTo(out);
+
+        assertThat(objectMapper.readTree(out.toByteArray()).get("body").asText()).isEqualTo(expected.getBody());
+        verify(repository, atLeast(2)).readContentHtml(eq(expected.getId()), anyInt(), eq(ArticleJsonStreamer.CONTENT_CHUNK));
+    }
+
+    @Test
+    void rejectsMissingArticleBeforeStreamingAndReleasesPlace() {
+        ArticleJsonStreamer single = streamer(1);
+        when(repository.findPublishedHeader("missing")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> single.open("missing")).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> single.open("missing")).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void limitsConcurrentStreams() {
+        ArticleDto article = article();
+        ArticleJsonStreamer single = streamer(1);
+        when(repository.findPublishedHeader("guide")).thenReturn(Optional.of(header(article)));
+        when(repository.isPublishedVersion(article.getId(), article.getVersion())).thenReturn(true);
+        stubContentHtml(article.getId(), article.getBody());
+
+        ArticleJsonStreamer.ArticleStream first = single.open("guide");
+        assertThatThrownBy(() -> single.open("guide")).isInstanceOf(ServiceUnavailableException.class);
+
+        first.writeTo(new ByteArrayOutputStream());
+        assertThat(single.open("guide").version().id()).isEqualTo(article.getId());
+    }
+
+    @Test
+    void refusesToWriteVersionChangedAfterOpen() {
+        ArticleDto article = article();
+        when(repository.findPublishedHeader("guide")).thenReturn(Optional.of(header(article)));
+        when(repository.isPublishedVersion(article.getId(), article.getVersion())).thenReturn(false);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> streamer.open("guide").writeTo(out)).isInstanceOf(ConflictException.class);
+        assertThat(out.size()).isZero();
+    }
+
+    private ArticleJsonStreamer streamer(int maxConcurrent) {
+        ArticleStreamProperties properties = new ArticleStreamProperties();
+        properties.setMaxConcurrent(maxConcurrent);
+        return new ArticleJsonStreamer(repository, objectMapper, mock(PlatformTransactionManager.class), properties);
+    }
+
+    private static ArticleHeaderRow header(ArticleDto article) {
+        return new ArticleHeaderRow(article.getId(), article.getTitle(), article.getSlug(), article.getStatus(),
+                article.getVersion(), article.getDescription(), article.getUpdatedAt(), "[]");
+    }
+
+    /**
+     * Отдаёт HTML по смещениям в кодовых точках, как {@code substr} в PostgreSQL.
+     */
+    private void stubContentHtml(UUID articleId, String html) {
+        int[] codePoints = html.codePoints().toArray();
+        when(repository.readContentHtml(eq(articleId), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int offset = Math.min(invocation.getArgument(1, Integer.class), codePoints.length);
+            int end = Math.min(offset + invocation.getArgument(2, Integer.class), codePoints.length);
+            return new String(codePoints, offset, end - offset);
+        });
+    }
+
+    private static ArticleDto article() {
+        ArticleDto article = new ArticleDto();
+        article.setId(UUID.randomUUID());
+        article.setTitle("Руководство");
+        article.setSlug("guide");
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setVersion(4);
+        article.setDescription("Кратко");
+        article.setBody("<p>\"Текст\"</p>");
+        article.setUpdatedAt(OffsetDateTime.parse("2025-10-01T10:00:00Z"));
+        TagDto tag = new TagDto();
+        tag.setId(UUID.randomUUID());
+        tag.setName("java");
+        tag.setSlug("java");
+        article.getTags().add(tag);
+        article.getChapters().add(chapter(article.getId(), 0, 2));
+        article.getChapters().add(chapter(article.getId(), 1, 0));
+        article.getChapters().add(chapter(article.getId(), 2, 1));
+        return article;
+    }
+
+    private static ChapterDto chapter(UUID articleId, int orderIndex, int sections) {
+        ChapterDto chapter = new ChapterDto();
+        chapter.setId(UUID.randomUUID());
+        chapter.setArticleId(articleId);
+        chapter.setTitle("Глава " + orderIndex);
+        chapter.setOrderIndex(orderIndex);
+        for (int i = 0; i < sections; i++) {
+            SectionDto section = new SectionDto();
+            section.setId(UUID.randomUUID());
+            section.setChapterId(chapter.getId());
+            section.setTitle("Секция " + i);
+            section.setOrderIndex(i);
+            section.setMarkdown("# " + i + "\n\nтекст");
+            chapter.getSections().add(section);
+        }
+        return chapter;
+    }
+}
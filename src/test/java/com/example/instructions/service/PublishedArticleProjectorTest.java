@@ -0,0 +1,44 @@
+package com.example.instructions.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.instructions.api.mapper.ArticleMapper;
+import com.example.instructions.api.mapper.TocMapper;
+import com.example.instructions.repo.ArticleRepository;
+import com.example.instructions.repo.PublishedArticleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class PublishedArticleProjectorTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final PublishedArticleRepository publishedArticleRepository = mock(PublishedArticleRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void backfillsMissingDocumentsInBatchedTransactions() {
+        List<UUID> missing = Stream.generate(UUID::randomUUID)
+                .limit(PublishedArticleProjector.BACKFILL_BATCH * 2L + 1)
+                .toList();
+        when(publishedArticleRepository.findMissingArticleIds()).thenReturn(missing);
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        PublishedArticleProjector projector = new PublishedArticleProjector(articleRepository,
+                publishedArticleRepository, mock(ArticleMapper.class), mock(TocMapper.class), new ObjectMapper(),
+                transactionManager);
+
+        projector.backfill();
+
+        // одна транзакция на поиск и по одной на каждую из трёх пачек
+        verify(transactionManager, times(4)).commit(any());
+        verify(articleRepository, times(missing.size())).findById(any());
+    }
+}
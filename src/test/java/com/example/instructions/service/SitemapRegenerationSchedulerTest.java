@@ -0,0 +1,113 @@
+package com.example.instructions.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+class SitemapRegenerationSchedulerTest {
+
+    private SitemapService sitemapService;
+    private TaskScheduler taskScheduler;
+    private SitemapRegenerationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        sitemapService = mock(SitemapService.class);
+        taskScheduler = mock(TaskScheduler.class);
+        scheduler = new SitemapRegenerationScheduler(sitemapService, new SitemapProperties(), taskScheduler);
+    }
+
+    @Test
+    void coalescesBurstOfChangesIntoSingleUpdate() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        scheduler.onPublishedArticleChanged(PublishedArticleChangedEvent.of(first, "first"));
+        scheduler.onPublishedArticleChanged(PublishedArticleChangedEvent.of(second, "second"));
+        scheduler.onPublishedArticleChanged(PublishedArticleChangedEvent.of(first, "first-renamed"));
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+        verifyNoInteractions(sitemapService);
+
+        task.getValue().run();
+
+        verify(sitemapService).applyChanges(argThat(ids -> ids.size() == 2 && ids.containsAll(Set.of(first, second))));
+        verify(sitemapService, never()).generateSitemap();
+    }
+
+    @Test
+    void restoresSitemapOnStartup() {
+        scheduler.onApplicationReady();
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+
+        task.getValue().run();
+
+        verify(sitemapService).restoreSitemap();
+        verify(sitemapService, never()).generateSitemap();
+    }
+
+    @Test
+    void schedulesAgainForChangesDuringGeneration() {
+        scheduler.onPublishedArticleChanged(PublishedArticleChangedEvent.of(UUID.randomUUID(), "slug"));
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+
+        task.getValue().run();
+        scheduler.onPublishedArticleChanged(PublishedArticleChangedEvent.of(UUID.randomUUID(), "slug"));
+
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void runsUpdatesOneAtATime() throws Exception {
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+        CountDownLatch releaseRebuild = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(inv -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            rebuildStarted.countDown();
+            releaseRebuild.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return null;
+        }).when(sitemapService).restoreSitemap();
+        doAnswer(inv -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            running.decrementAndGet();
+            return null;
+        }).when(sitemapService).applyChanges(any());
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+
+        scheduler.onApplicationReady();
+        verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(task.getValue());
+        rebuildStarted.await(5, TimeUnit.SECONDS);
+        scheduler.onPublishedArticleChanged(PublishedArticleChangedEvent.of(UUID.randomUUID(), "slug"));
+        verify(taskScheduler, times(2)).schedule(task.capture(), any(Instant.class));
+        CompletableFuture<Void> update = CompletableFuture.runAsync(task.getValue());
+        releaseRebuild.countDown();
+        CompletableFuture.allOf(rebuild, update).get(5, TimeUnit.SECONDS);
+
+        verify(sitemapService).applyChanges(any());
+        assertThat(maxRunning).hasValue(1);
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.instructions.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.instructions.domain.ArticleStatus;
+import com.example.instructions.domain.Tag;
+import com.example.instructions.repo.ArticleRepository;
+import com.example.instructions.repo.SectionRepository;
+import com.example.instructions.repo.SitemapEntry;
+import com.example.instructions.repo.SitemapState;
+import com.example.instructions.repo.SitemapUrlRepository;
+import com.example.instructions.repo.TagRepository;
+import com.example.instructions.sitemap.SitemapSnapshot;
+import com.example.instructions.sitemap.SitemapUrl;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class SitemapServiceTest {
+
+    private static final OffsetDateTime UPDATED = OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final SectionRepository sectionRepository = mock(SectionRepository.class);
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final InMemorySitemapUrlRepository urls = new InMemorySitemapUrlRepository();
+    private final SitemapProperties properties = new SitemapProperties();
+    private SitemapService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBaseUrl("https://example.com");
+        properties.setMaxUrlsPerShard(3);
+        service = new SitemapService(articleRepository, sectionRepository, tagRepository, urls, properties);
+        when(sectionRepository.streamSitemapEntries(ArticleStatus.PUBLISHED)).thenAnswer(inv -> Stream.empty());
+        when(sectionRepository.findSitemapEntriesByArticleId(any(), any())).thenReturn(List.of());
+        when(tagRepository.streamSitemapEntries(ArticleStatus.PUBLISHED)).thenAnswer(inv -> Stream.empty());
+    }
+
+    @Test
+    void fillsShardsSequentiallyOnFullGeneration() {
+        publish(article("a"), article("b"), article("c"));
+
+        service.generateSitemap();
+
+        // 2 общие страницы + 3 статьи при лимите 3 адреса на шард
+        assertThat(shardNames()).containsExactlyInAnyOrder("sitemap-1.xml.gz", "sitemap-2.xml.gz");
+        assertThat(urls.countByShard()).containsEntry(1, 3L).containsEntry(2, 2L);
+    }
+
+    @Test
+    void publishTouchesOnlyShardWithFreeSpace() {
+        publish(article("a"), article("b"), article("c"));
+        service.generateSitemap();
+        SitemapSnapshot before = service.currentSnapshot().orElseThrow();
+
+        SitemapEntry added = article("d");
+        when(articleRepository.findSitemapEntry(added.id(), ArticleStatus.PUBLISHED)).thenReturn(Optional.of(added));
+        service.applyChanges(List.of(added.id()));
+
+        SitemapSnapshot after = service.currentSnapshot().orElseThrow();
+        assertThat(after.shard("sitemap-1.xml.gz")).isEqualTo(before.shard("sitemap-1.xml.gz"));
+        assertThat(after.shard("sitemap-2.xml.gz").orElseThrow().etag())
+                .isNotEqualTo(before.shard("sitemap-2.xml.gz").orElseThrow().etag());
+        assertThat(urls.countByShard()).containsEntry(2, 3L);
+    }
+
+    @Test
+    void unpublishRemovesUrlAndDropsEmptyShard() {
+        SitemapEntry last = article("c");
+        publish(article("a"), article("b"), article("x"), last);
+        service.generateSitemap();
+        assertThat(urls.findByShard(2)).hasSize(3);
+
+        when(articleRepository.findSitemapEntry(any(), any())).thenReturn(Optional.empty());
+        service.applyChanges(urls.findByShard(2).stream().map(SitemapUrl::articleId).toList());
+
+        assertThat(shardNames()).containsExactly("sitemap-1.xml.gz");
+        assertThat(new String(service.currentSnapshot().orElseThrow().index().content()))
+                .doesNotContain("sitemap-2.xml.gz");
+    }
+
+    @Test
+    void includesSectionsOnlyForFragmentFreeRoute() {
+        SitemapEntry article = article("a");
+        SitemapEntry section = new SitemapEntry(UUID.randomUUID(), article.articleId(), "a", UPDATED);
+        publish(article);
+        when(sectionRepository.streamSitemapEntries(ArticleStatus.PUBLISHED)).thenAnswer(inv -> Stream.of(section));
+
+        service.generateSitemap();
+        assertThat(urls.findByKind(SitemapUrl.Kind.SECTION)).isEmpty();
+
+        properties.setSectionPath("/articles/{slug}#section-{id}");
+        service.generateSitemap();
+        assertThat(urls.findByKind(SitemapUrl.Kind.SECTION)).isEmpty();
+
+        properties.setSectionPath("/articles/{slug}/sections/{id}");
+        service.generateSitemap();
+        assertThat(urls.findByKind(SitemapUrl.Kind.SECTION)).extracting(SitemapUrl::loc)
+                .containsExactly("https://example.com/articles/a/sections/" + section.id());
+    }
+
+    @Test
+    void removesTagPageWhenItsLastArticleDropsTheTag() {
+        SitemapEntry article = article("a");
+        Tag tag = new Tag();
+        tag.setId(UUID.randomUUID());
+        tag.setSlug("docker");
+        SitemapEntry tagEntry = new SitemapEntry(tag.getId(), tag.getSlug(), UPDATED);
+        publish(article);
+        urls.articleTags.put(article.id(), List.of(tag.getId()));
+        when(tagRepository.streamSitemapEntries(ArticleStatus.PUBLISHED)).thenAnswer(inv -> Stream.of(tagEntry));
+        service.generateSitemap();
+        assertThat(urls.findByKind(SitemapUrl.Kind.TAG)).hasSize(1);
+
+        urls.articleTags.remove(article.id());
+        when(articleRepository.findSitemapEntry(article.id(), ArticleStatus.PUBLISHED)).thenReturn(Optional.of(article));
+        when(tagRepository.findAllById(Set.of(tag.getId()))).thenReturn(List.of(tag));
+        service.applyChanges(List.of(article.id()));
+
+        assertThat(urls.findByKind(SitemapUrl.Kind.TAG)).isEmpty();
+        assertThat(new String(gunzip(service.currentSnapshot().orElseThrow().shard("sitemap-1.xml.gz")
+                .orElseThrow().content()))).doesNotContain("/tags/docker");
+        // страницы остальных тегов не перечитываются
+        verify(tagRepository, times(1)).streamSitemapEntries(ArticleStatus.PUBLISHED);
+    }
+
+    private static byte[] gunzip(byte[] content) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void restoresStoredShardsAfterRestartWithoutRegenerating() {
+        SitemapEntry changed = article("c");
+        publish(article("a"), article("b"), changed);
+        service.generateSitemap();
+        SitemapSnapshot before = service.currentSnapshot().orElseThrow();
+
+        SitemapService restarted = new SitemapService(articleRepository, sectionRepository, tagRepository, urls,
+                properties);
+        SitemapEntry renamed = new SitemapEntry(changed.id(), changed.id(), "c-renamed", UPDATED.plusDays(1));
+        when(articleRepository.findIdsUpdatedSince(any())).thenReturn(List.of(changed.id()));
+        when(articleRepository.findSitemapEntry(changed.id(), ArticleStatus.PUBLISHED)).thenReturn(Optional.of(renamed));
+        restarted.restoreSitemap();
+
+        verify(articleRepository, times(1)).streamSitemapEntries(ArticleStatus.PUBLISHED);
+        SitemapSnapshot after = restarted.currentSnapshot().orElseThrow();
+        assertThat(after.shard("sitemap-1.xml.gz").orElseThrow().etag())
+                .isEqualTo(before.shard("sitemap-1.xml.gz").orElseThrow().etag());
+        assertThat(urls.findByArticleId(changed.id())).extracting(SitemapUrl::loc)
+                .containsExactly("https://example.com/articles/c-renamed");
+    }
+
+    @Test
+    void regeneratesOnRestartWhenUrlSettingsChanged() {
+        publish(article("a"));
+        service.generateSitemap();
+
+        properties.setBaseUrl("https://example.org");
+        new SitemapService(articleRepository, sectionRepository, tagRepository, urls, properties).restoreSitemap();
+
+        verify(articleRepository, times(2)).streamSitemapEntries(ArticleStatus.PUBLISHED);
+        assertThat(urls.findByKind(SitemapUrl.Kind.ARTICLE)).extracting(SitemapUrl::loc)
+                .containsExactly("https://example.org/articles/a");
+    }
+
+    @Test
+    void publishesChangesOnlyAfterCommit() {
+        publish(article("a"));
+        service.generateSitemap();
+        SitemapSnapshot before = service.currentSnapshot().orElseThrow();
+        SitemapEntry added = article("b");
+        when(articleRepository.findSitemapEntry(added.id(), ArticleStatus.PUBLISHED)).thenReturn(Optional.of(added));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.applyChanges(List.of(added.id()));
+            assertThat(service.currentSnapshot()).containsSame(before);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(service.currentSnapshot().orElseThrow()).isNotSameAs(before);
+    }
+
+    private void publish(SitemapEntry... articles) {
+        when(articleRepository.streamSitemapEntries(ArticleStatus.PUBLISHED)).thenAnswer(inv -> Stream.of(articles));
+    }
+
+    private List<String> shardNames() {
+        return List.copyOf(service.currentSnapshot().orElseThrow().shards().keySet());
+    }
+
+    private static SitemapEntry article(String slug) {
+        UUID id = UUID.randomUUID();
+        return new SitemapEntry(id, id, slug, UPDATED);
+    }
+
+    /**
+     * Хранилище адресов в памяти с той же семантикой, что и таблица {@code sitemap_url}.
+     */
+    private static final class InMemorySitemapUrlRepository implements SitemapUrlRepository {
+
+        private final Map<String, SitemapUrl> rows = new TreeMap<>();
+        private final Map<UUID, List<UUID>> articleTags = new HashMap<>();
+        private final Map<UUID, List<UUID>> snapshotTags = new HashMap<>();
+        private SitemapState state;
+
+        @Override
+        public void lock() {
+        }
+
+        @Override
+        public Stream<SitemapUrl> streamAll() {
+            return rows.values().stream()
+                    .sorted(Comparator.comparingInt(SitemapUrl::shard).thenComparing(SitemapUrl::loc));
+        }
+
+        @Override
+        public Optional<SitemapState> findState() {
+            return Optional.ofNullable(state);
+        }
+
+        @Override
+        public void saveState(SitemapState state) {
+            this.state = state;
+        }
+
+        @Override
+        public void deleteAll() {
+            rows.clear();
+        }
+
+        @Override
+        public void saveAll(Collection<SitemapUrl> urls) {
+            urls.forEach(url -> rows.put(url.loc(), url));
+        }
+
+        @Override
+        public void deleteByLocIn(Collection<String> locs) {
+            locs.forEach(rows::remove);
+        }
+
+        @Override
+        public List<SitemapUrl> findByArticleId(UUID articleId) {
+            return rows.values().stream().filter(url -> articleId.equals(url.articleId())).toList();
+        }
+
+        @Override
+        public List<SitemapUrl> findByLocIn(Collection<String> locs) {
+            return locs.stream().map(rows::get).filter(Objects::nonNull).toList();
+        }
+
+        @Override
+        public List<UUID> findTagIdsByArticleId(UUID articleId) {
+            return snapshotTags.getOrDefault(articleId, List.of());
+        }
+
+        @Override
+        public List<UUID> snapshotArticleTags(UUID articleId) {
+            List<UUID> tags = articleTags.getOrDefault(articleId, List.of());
+            snapshotTags.put(articleId, tags);
+            return tags;
+        }
+
+        @Override
+        public void snapshotAllArticleTags() {
+            snapshotTags.clear();
+            snapshotTags.putAll(articleTags);
+        }
+
+        List<SitemapUrl> findByKind(SitemapUrl.Kind kind) {
+            return rows.values().stream().filter(url -> url.kind() == kind).toList();
+        }
+
+        List<SitemapUrl> findByShard(int shard) {
+            return rows.values().stream()
+                    .filter(url -> url.shard() == shard)
+                    .sorted(Comparator.comparing(SitemapUrl::loc))
+                    .toList();
+        }
+
+        Map<Integer, Long> countByShard() {
+            return rows.values().stream()
+                    .collect(Collectors.groupingBy(SitemapUrl::shard, TreeMap::new, Collectors.counting()));
+        }
+    }
+}
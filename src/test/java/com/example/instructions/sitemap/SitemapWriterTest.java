@@ -0,0 +1,66 @@
+package com.example.instructions.sitemap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class SitemapWriterTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void writesGzippedShardWithEscapedLocations() throws IOException {
+        SitemapFile shard = SitemapWriter.writeShard(1, List.of(
+                url("https://example.com/a", NOW.minusDays(3)),
+                url("https://example.com/c?x=1&y=2", null)), NOW);
+
+        String xml = gunzip(shard.content());
+        assertThat(shard.name()).isEqualTo("sitemap-1.xml.gz");
+        assertThat(xml)
+                .contains("<loc>https://example.com/a</loc><lastmod>2025-02-26T12:00:00Z</lastmod>")
+                .contains("<url><loc>https://example.com/c?x=1&amp;y=2</loc></url>")
+                .endsWith("</urlset>\n");
+        assertThat(shard.lastModified()).isEqualTo(NOW.minusDays(3).toInstant().toEpochMilli());
+    }
+
+    @Test
+    void indexesShardsInNumericOrderWithTheirLastmod() {
+        SitemapFile second = SitemapWriter.writeShard(2, List.of(url("https://example.com/b", null)), NOW);
+        SitemapFile tenth = SitemapWriter.writeShard(10, List.of(url("https://example.com/a", NOW.minusDays(1))), NOW);
+
+        SitemapSnapshot snapshot = SitemapSnapshot.of("https://example.com",
+                Map.of(second.name(), second, tenth.name(), tenth), NOW);
+
+        String index = new String(snapshot.index().content(), StandardCharsets.UTF_8);
+        assertThat(index.indexOf("sitemap-2.xml.gz")).isLessThan(index.indexOf("sitemap-10.xml.gz"));
+        assertThat(index)
+                .contains("<loc>https://example.com/sitemap-10.xml.gz</loc><lastmod>2025-02-28T12:00:00Z</lastmod>")
+                .contains("<loc>https://example.com/sitemap-2.xml.gz</loc><lastmod>2025-03-01T12:00:00Z</lastmod>");
+    }
+
+    @Test
+    void givesEachShardItsOwnContentEtag() {
+        SitemapFile first = SitemapWriter.writeShard(1, List.of(url("https://example.com/a", NOW)), NOW);
+        SitemapFile second = SitemapWriter.writeShard(2, List.of(url("https://example.com/b", NOW)), NOW);
+
+        assertThat(first.etag()).startsWith("\"").endsWith("\"").isNotEqualTo(second.etag());
+    }
+
+    private static SitemapUrl url(String loc, OffsetDateTime lastmod) {
+        return new SitemapUrl(loc, SitemapUrl.Kind.ARTICLE, null, lastmod, 0);
+    }
+
+    private static String gunzip(byte[] content) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.instructions.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.instructions.repo.ArticleRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+class SlugResolverServiceTest {
+
+    private ArticleRepository articleRepository;
+    private SlugResolverService resolver;
+
+    @BeforeEach
+    void setUp() {
+        articleRepository = mock(ArticleRepository.class);
+        resolver = new SlugResolverService(articleRepository);
+    }
+
+    @Test
+    void returnsBaseSlugWhenFree() {
+        when(articleRepository.findSlugsLike("guide", "guide-%", null)).thenReturn(List.of("guide-2"));
+
+        assertThat(resolver.resolveSlug("Guide", null, null)).isEqualTo("guide");
+    }
+
+    @Test
+    void picksSmallestFreeSuffixFromSingleQuery() {
+        when(articleRepository.findSlugsLike("guide", "guide-%", null))
+                .thenReturn(List.of("guide", "guide-2", "guide-3", "guide-5", "guide-setup"));
+
+        assertThat(resolver.resolveSlug("guide", null, null)).isEqualTo("guide-4");
+    }
+
+    @Test
+    void locksBaseSlugBeforeReadingTakenSlugs() {
+        UUID currentId = UUID.randomUUID();
+        when(articleRepository.findSlugsLike("guide", "guide-%", currentId)).thenReturn(List.of());
+
+        assertThat(resolver.resolveSlug("guide", null, currentId)).isEqualTo("guide");
+
+        InOrder order = inOrder(articleRepository);
+        order.verify(articleRepository).lockSlug("guide");
+        order.verify(articleRepository).findSlugsLike("guide", "guide-%", currentId);
+    }
+}